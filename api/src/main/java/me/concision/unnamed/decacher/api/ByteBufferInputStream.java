@@ -0,0 +1,80 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InputStream} view of the remaining bytes of a {@link ByteBuffer}. Reads are copied directly out of the
+ * buffer and {@link #skip(long)} only advances the buffer position.
+ *
+ * @author Concision
+ */
+class ByteBufferInputStream extends InputStream {
+    /**
+     * An independent view of the passed {@link ByteBuffer} specified in the constructor
+     * {@link #ByteBufferInputStream}; reading does not modify the original buffer's position.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Initializes a stream over the remaining bytes of a {@link ByteBuffer}.
+     *
+     * @param buffer a {@link ByteBuffer} to read
+     */
+    ByteBufferInputStream(@NonNull ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() {
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(@NonNull byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || length > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        } else if (length == 0) {
+            return 0;
+        }
+
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int read = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, read);
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int skipped = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
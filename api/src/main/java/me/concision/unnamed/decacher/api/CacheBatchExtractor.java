@@ -0,0 +1,227 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts many {@link CacheEntry}s from a single sequential pass over a .cache {@link InputStream}. Entries are sorted
+ * by {@link CacheEntry#offset()}, such that the stream is only ever skipped forward and read once; this is especially
+ * useful for sources that are expensive to reopen or skip (e.g. a remotely downloaded and decompressed .cache file).
+ * <p>
+ * Entries sharing an identical byte range are read once and decompressed for each entry. Entries with partially
+ * overlapping byte ranges cannot be extracted in a single pass, and are rejected.
+ * <p>
+ * Note: Oodle decompression is currently not supported.
+ *
+ * @author Concision
+ */
+@UtilityClass
+public class CacheBatchExtractor {
+    /**
+     * Size of the buffer used to copy decompressed bytes into {@link OutputStream}s.
+     */
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    /**
+     * Extracts {@link CacheEntry}s from a .cache stream, passing each entry's decompressed contents to a consumer in
+     * order of offset. The passed contents stream is only valid for the duration of the consumer invocation; any bytes
+     * left unread by the consumer are skipped.
+     * <p>
+     * Note: The .cache stream is not closed.
+     *
+     * @param cache    a {@link InputStream} of a raw .cache file, positioned at offset {@code 0}
+     * @param entries  {@link CacheEntry}s read from the corresponding .toc file
+     * @param consumer a consumer of each entry's decompressed contents
+     * @throws IllegalArgumentException if any entries have partially overlapping byte ranges
+     * @throws EOFException             if the .cache stream ends before all entries are extracted
+     * @throws IOException              if an underlying I/O exception occurs, or is thrown by the consumer
+     */
+    public void extract(@NonNull InputStream cache, @NonNull Collection<CacheEntry> entries, @NonNull EntryConsumer consumer) throws IOException {
+        // not closed, as the underlying .cache stream must remain open
+        DataInputStream stream = new DataInputStream(cache);
+
+        List<CacheEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(CacheEntry::offset).thenComparingInt(CacheEntry::compressedSize));
+
+        // reject overlapping ranges before consuming any bytes
+        for (int i = 1; i < sorted.size(); i++) {
+            CacheEntry previous = sorted.get(i - 1);
+            CacheEntry entry = sorted.get(i);
+            if (entry.offset() < previous.offset() + previous.compressedSize() && !sameRange(previous, entry)) {
+                throw new IllegalArgumentException("cache entries overlap: " + previous.filename() + ", " + entry.filename());
+            }
+        }
+
+        // reusable buffer for byte ranges shared by multiple entries
+        byte[] shared = new byte[0];
+
+        long position = 0;
+        for (int from = 0, to; from < sorted.size(); from = to) {
+            CacheEntry entry = sorted.get(from);
+            // group entries of an identical byte range
+            to = from + 1;
+            while (to < sorted.size() && sameRange(entry, sorted.get(to))) {
+                to++;
+            }
+
+            CacheDecompressionInputStream.skipFully(stream, entry.offset() - position);
+            position = entry.offset() + entry.compressedSize();
+
+            if (to - from == 1) {
+                // decompress directly from the .cache stream
+                RangeInputStream range = new RangeInputStream(stream, entry.compressedSize());
+                consumer.accept(entry, new CacheDecompressionInputStream(range));
+                CacheDecompressionInputStream.skipFully(stream, range.remaining);
+            } else {
+                // read shared byte range once
+                if (shared.length < entry.compressedSize()) {
+                    shared = new byte[entry.compressedSize()];
+                }
+                stream.readFully(shared, 0, entry.compressedSize());
+                for (int i = from; i < to; i++) {
+                    consumer.accept(sorted.get(i), new CacheDecompressionInputStream(new ByteArrayInputStream(shared, 0, entry.compressedSize())));
+                }
+            }
+        }
+    }
+
+    /**
+     * Extracts {@link CacheEntry}s from a .cache stream, writing each entry's decompressed contents to its mapped
+     * {@link OutputStream} in order of offset.
+     * <p>
+     * Note: Neither the .cache stream nor the {@link OutputStream}s are closed.
+     *
+     * @param cache   a {@link InputStream} of a raw .cache file, positioned at offset {@code 0}
+     * @param outputs {@link CacheEntry}s read from the corresponding .toc file, mapped to their destination
+     * @throws IllegalArgumentException if any entries have partially overlapping byte ranges
+     * @throws EOFException             if the .cache stream ends before all entries are extracted
+     * @throws IOException              if an underlying I/O exception occurs
+     * @see #extract(InputStream, Collection, EntryConsumer)
+     */
+    public void extract(@NonNull InputStream cache, @NonNull Map<CacheEntry, OutputStream> outputs) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        extract(cache, outputs.keySet(), (entry, contents) -> {
+            OutputStream output = outputs.get(entry);
+            for (int read; (read = contents.read(buffer)) != -1; ) {
+                output.write(buffer, 0, read);
+            }
+        });
+    }
+
+    /**
+     * Consumes the decompressed contents of an extracted {@link CacheEntry}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /**
+         * Consumes an extracted entry.
+         *
+         * @param entry    the extracted {@link CacheEntry}
+         * @param contents a decompressed {@link InputStream} of the entry's contents
+         * @throws IOException if an I/O exception occurs
+         */
+        void accept(CacheEntry entry, InputStream contents) throws IOException;
+    }
+
+    // utility
+
+    /**
+     * Determines whether two entries occupy an identical byte range.
+     *
+     * @param a a {@link CacheEntry}
+     * @param b another {@link CacheEntry}
+     * @return {@code true} if the byte ranges are identical
+     */
+    private boolean sameRange(CacheEntry a, CacheEntry b) {
+        return a.offset() == b.offset() && a.compressedSize() == b.compressedSize();
+    }
+
+    /**
+     * Limits reads of an underlying stream to a single entry's byte range, without closing the underlying stream.
+     */
+    private static class RangeInputStream extends InputStream {
+        /**
+         * Underlying .cache stream
+         */
+        private final InputStream stream;
+        /**
+         * Number of unread bytes in the range
+         */
+        private long remaining;
+
+        RangeInputStream(InputStream stream, long length) {
+            this.stream = stream;
+            this.remaining = length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int next = stream.read();
+            if (next < 0) {
+                throw new EOFException();
+            }
+            remaining--;
+            return next;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return length == 0 ? 0 : -1;
+            }
+            int read = stream.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read < 0) {
+                throw new EOFException();
+            }
+            remaining -= read;
+            return read;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = stream.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(stream.available(), remaining);
+        }
+
+        /**
+         * Does not close the underlying stream, as subsequent entries are read from it.
+         */
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Stateless decoder of compressed .cache blocks between {@link ByteBuffer}s. A {@link CacheEntry}'s byte range is a
+ * sequence of blocks, each prefixed with a 4-byte header of two big-endian 16-bit sizes: the compressed block size
+ * and the decompressed block size.
+ * <p>
+ * Both heap and direct buffers are supported (e.g. slices from a {@link MappedCacheFile} may be decoded into pooled
+ * off-heap buffers); buffers that are not backed by accessible arrays are bulk-copied through per-thread scratch
+ * arrays, such that decoding always operates on arrays.
+ * <p>
+ * Note: Oodle decompression is currently not supported.
+ *
+ * @author Concision
+ */
+@UtilityClass
+public class CacheBlockDecoder {
+    /**
+     * Byte length of a block header.
+     */
+    public static final int HEADER_SIZE = 4;
+    /**
+     * Maximum byte length of a compressed or decompressed block.
+     */
+    public static final int MAX_BLOCK_SIZE = 0xFFFF;
+
+    /**
+     * Per-thread scratch arrays for compressed input and decompressed output of buffers without accessible arrays.
+     */
+    private static final ThreadLocal<byte[][]> SCRATCH = ThreadLocal.withInitial(() -> new byte[2][MAX_BLOCK_SIZE]);
+
+    /**
+     * Decodes a single block from the source buffer's position into the destination buffer's position. On success,
+     * the source buffer is advanced past the block and the destination buffer is advanced by the decompressed size; on
+     * failure, neither buffer position is modified.
+     *
+     * @param src a buffer positioned at a block header
+     * @param dst a buffer with at least as many bytes remaining as the block's decompressed size
+     * @return the number of decompressed bytes written, or {@code -1} if the source buffer has no bytes remaining
+     * @throws BufferUnderflowException  if the source buffer does not contain the entire block
+     * @throws BufferOverflowException   if the destination buffer does not have room for the decompressed block
+     * @throws IllegalStateException     if the block is Oodle compressed
+     * @throws IndexOutOfBoundsException if the compressed block is malformed
+     */
+    public int decode(@NonNull ByteBuffer src, @NonNull ByteBuffer dst) {
+        if (!src.hasRemaining()) {
+            return -1;
+        }
+
+        int srcPosition = src.position();
+        if (src.remaining() < HEADER_SIZE) {
+            throw new BufferUnderflowException();
+        }
+        int blockSize = blockSize(src, srcPosition);
+        int decompressedSize = decompressedSize(src, srcPosition);
+        int blockPosition = srcPosition + HEADER_SIZE;
+
+        if (src.limit() - blockPosition < blockSize) {
+            throw new BufferUnderflowException();
+        }
+        if (dst.remaining() < decompressedSize) {
+            throw new BufferOverflowException();
+        }
+        checkSupported(blockSize, decompressedSize);
+
+        int dstPosition = dst.position();
+        if (blockSize == decompressedSize) { // no compression
+            ByteBuffer block = src.duplicate();
+            block.limit(blockPosition + blockSize);
+            block.position(blockPosition);
+            dst.put(block);
+        } else {
+            // resolve an array holding the compressed block
+            byte[] input;
+            int inputOffset;
+            if (src.hasArray()) {
+                input = src.array();
+                inputOffset = src.arrayOffset() + blockPosition;
+            } else {
+                ByteBuffer block = src.duplicate();
+                block.limit(blockPosition + blockSize);
+                block.position(blockPosition);
+                input = SCRATCH.get()[0];
+                inputOffset = 0;
+                block.get(input, 0, blockSize);
+            }
+
+            // decode directly into the destination array if possible
+            if (dst.hasArray()) {
+                decode(input, inputOffset, blockSize, dst.array(), dst.arrayOffset() + dstPosition, decompressedSize);
+                dst.position(dstPosition + decompressedSize);
+            } else {
+                byte[] output = SCRATCH.get()[1];
+                decode(input, inputOffset, blockSize, output, 0, decompressedSize);
+                dst.put(output, 0, decompressedSize);
+            }
+        }
+        src.position(blockPosition + blockSize);
+
+        return decompressedSize;
+    }
+
+    /**
+     * Decodes all remaining blocks (e.g. an entire {@link CacheEntry}) from the source buffer into the destination
+     * buffer. Positions are advanced past each successfully decoded block.
+     *
+     * @param src a buffer positioned at the first block header
+     * @param dst a buffer with room for all decompressed blocks (e.g. {@link CacheEntry#uncompressedSize()} bytes)
+     * @return the total number of decompressed bytes written
+     * @see #decode(ByteBuffer, ByteBuffer)
+     */
+    public int decodeAll(@NonNull ByteBuffer src, @NonNull ByteBuffer dst) {
+        int total = 0;
+        for (int decoded; (decoded = decode(src, dst)) != -1; ) {
+            total += decoded;
+        }
+        return total;
+    }
+
+    // headers
+
+    /**
+     * Reads the compressed size from a block header.
+     *
+     * @param buffer a buffer containing a block header
+     * @param index  absolute index of the block header
+     * @return compressed block size
+     */
+    int blockSize(ByteBuffer buffer, int index) {
+        return ((buffer.get(index) & 0xFF) << 8) | (buffer.get(index + 1) & 0xFF);
+    }
+
+    /**
+     * Reads the decompressed size from a block header.
+     *
+     * @param buffer a buffer containing a block header
+     * @param index  absolute index of the block header
+     * @return decompressed block size
+     */
+    int decompressedSize(ByteBuffer buffer, int index) {
+        return ((buffer.get(index + 2) & 0xFF) << 8) | (buffer.get(index + 3) & 0xFF);
+    }
+
+    /**
+     * Verifies a block's compression format is supported.
+     *
+     * @param blockSize        compressed block size
+     * @param decompressedSize decompressed block size
+     * @throws IllegalStateException if the block is Oodle compressed
+     */
+    void checkSupported(int blockSize, int decompressedSize) {
+        if (decompressedSize < blockSize) { // oodle decompress
+            // TODO: implement oodle decompression
+            // int decompressedLength = OodleLZ_Decompress(new byte[blockSize], blockSize, new byte[decompressedLength], decompressedLength);
+            // assert decompressedLength == decompressedSize;
+            throw new IllegalStateException("OodleLZ_Decompress decompression is unsupported");
+        }
+    }
+
+    // decoding
+
+    /**
+     * Decodes an LZ-compressed block from a byte array into another byte array.
+     *
+     * @param input            compressed block source
+     * @param inputOffset      offset of the compressed block (after the header)
+     * @param blockSize        compressed block byte length
+     * @param output           decompression destination
+     * @param outputOffset     offset to write the decompressed block to
+     * @param decompressedSize expected decompressed byte length
+     * @throws IndexOutOfBoundsException if the block is malformed
+     */
+    void decode(byte[] input, int inputOffset, int blockSize, byte[] output, int outputOffset, int decompressedSize) {
+        int compressionIndex = 0;
+        int decompressionIndex = 0;
+
+        while (compressionIndex < blockSize) {
+            int codeWord = input[inputOffset + compressionIndex++] & 0xFF;
+            if (codeWord <= 0x1f) {
+                // Encode literal
+                int literalLength = codeWord + 1;
+                if (decompressedSize < decompressionIndex + literalLength) {
+                    throw new IndexOutOfBoundsException();
+                }
+                if (blockSize < compressionIndex + literalLength) {
+                    throw new IndexOutOfBoundsException();
+                }
+                System.arraycopy(input, inputOffset + compressionIndex, output, outputOffset + decompressionIndex, literalLength);
+                compressionIndex += literalLength;
+                decompressionIndex += literalLength;
+            } else {
+                // encode dictionary
+                int copyLength = codeWord >>> 5; // high 3 bits are copy length
+                if (copyLength == 7) {
+                    if (blockSize <= compressionIndex) {
+                        throw new IndexOutOfBoundsException();
+                    }
+                    copyLength += input[inputOffset + compressionIndex++] & 0xFF; // read next byte and add 7 to it
+                }
+
+                if (blockSize <= compressionIndex) {
+                    throw new IndexOutOfBoundsException();
+                }
+
+                // 13 bits code look-back offset
+                int dictDist = ((codeWord & 0x1f) << 8) | (input[inputOffset + compressionIndex++] & 0xFF);
+
+                copyLength += 2; // add 2 to copy length
+                if (decompressedSize < decompressionIndex + copyLength) {
+                    throw new IndexOutOfBoundsException();
+                }
+                int decompressionStartPosition = decompressionIndex - 1 - dictDist;
+                if (decompressionStartPosition < 0) {
+                    throw new IndexOutOfBoundsException();
+                }
+                if (copyLength <= dictDist + 1) {
+                    // source and destination ranges do not overlap
+                    System.arraycopy(output, outputOffset + decompressionStartPosition, output, outputOffset + decompressionIndex, copyLength);
+                    decompressionIndex += copyLength;
+                } else {
+                    // overlapping ranges repeat previously copied bytes, and must be copied in order
+                    for (int i = outputOffset + decompressionStartPosition, end = i + copyLength; i < end; i++, decompressionIndex++) {
+                        output[outputOffset + decompressionIndex] = output[i];
+                    }
+                }
+            }
+        }
+
+        if (decompressionIndex != decompressedSize && blockSize != 0) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
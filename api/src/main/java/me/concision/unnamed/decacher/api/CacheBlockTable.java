@@ -0,0 +1,151 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An immutable table of the block boundaries of a {@link CacheEntry}'s compressed byte range, built by scanning only
+ * the 4-byte block headers. Since back-references never cross block boundaries, each block may be decoded
+ * independently once its compressed and decompressed offsets are known.
+ *
+ * @author Concision
+ */
+public final class CacheBlockTable {
+    /**
+     * Offsets of each block's header, relative to the start of the scanned compressed range; contains an additional
+     * trailing element holding the scanned range's length.
+     */
+    private final int[] compressedOffsets;
+    /**
+     * Offsets of each block's decompressed bytes in the decompressed entry; contains an additional trailing element
+     * holding the total decompressed length.
+     */
+    private final int[] decompressedOffsets;
+
+    private CacheBlockTable(int[] compressedOffsets, int[] decompressedOffsets) {
+        this.compressedOffsets = compressedOffsets;
+        this.decompressedOffsets = decompressedOffsets;
+    }
+
+    /**
+     * Scans the block headers of the remaining bytes of a compressed buffer (e.g. a {@link MappedCacheFile} slice);
+     * the buffer's position is not modified.
+     *
+     * @param buffer a buffer positioned at the first block header of a {@link CacheEntry}
+     * @return a table of all block boundaries
+     * @throws BufferUnderflowException if the last block is truncated
+     */
+    public static CacheBlockTable scan(@NonNull ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = buffer.limit();
+
+        // a block is at least a header long; ~64 KiB blocks are typical
+        int[] compressedOffsets = new int[Math.max(2, (end - start) / 0x8000 + 2)];
+        int[] decompressedOffsets = new int[compressedOffsets.length];
+
+        int blocks = 0;
+        int compressedOffset = 0;
+        int decompressedOffset = 0;
+        for (int index = start; index < end; blocks++) {
+            if (end - index < CacheBlockDecoder.HEADER_SIZE) {
+                throw new BufferUnderflowException();
+            }
+            int blockSize = CacheBlockDecoder.blockSize(buffer, index);
+            int decompressedSize = CacheBlockDecoder.decompressedSize(buffer, index);
+            if (end - index - CacheBlockDecoder.HEADER_SIZE < blockSize) {
+                throw new BufferUnderflowException();
+            }
+
+            // grow tables if necessary
+            if (compressedOffsets.length <= blocks + 1) {
+                compressedOffsets = Arrays.copyOf(compressedOffsets, compressedOffsets.length * 2);
+                decompressedOffsets = Arrays.copyOf(decompressedOffsets, decompressedOffsets.length * 2);
+            }
+            compressedOffsets[blocks] = compressedOffset;
+            decompressedOffsets[blocks] = decompressedOffset;
+
+            int length = CacheBlockDecoder.HEADER_SIZE + blockSize;
+            index += length;
+            compressedOffset += length;
+            decompressedOffset += decompressedSize;
+        }
+        compressedOffsets[blocks] = compressedOffset;
+        decompressedOffsets[blocks] = decompressedOffset;
+
+        return new CacheBlockTable(
+                Arrays.copyOf(compressedOffsets, blocks + 1),
+                Arrays.copyOf(decompressedOffsets, blocks + 1)
+        );
+    }
+
+    /**
+     * Returns the number of blocks.
+     *
+     * @return block count
+     */
+    public int blockCount() {
+        return compressedOffsets.length - 1;
+    }
+
+    /**
+     * Returns the offset of a block's header, relative to the start of the scanned compressed range.
+     *
+     * @param block block index
+     * @return compressed offset
+     */
+    public int compressedOffset(int block) {
+        return compressedOffsets[block];
+    }
+
+    /**
+     * Returns the byte length of a block, including its header.
+     *
+     * @param block block index
+     * @return compressed length
+     */
+    public int compressedLength(int block) {
+        return compressedOffsets[block + 1] - compressedOffsets[block];
+    }
+
+    /**
+     * Returns the offset of a block's first byte in the decompressed entry.
+     *
+     * @param block block index
+     * @return decompressed offset
+     */
+    public int decompressedOffset(int block) {
+        return decompressedOffsets[block];
+    }
+
+    /**
+     * Returns the decompressed byte length of a block.
+     *
+     * @param block block index
+     * @return decompressed length
+     */
+    public int decompressedLength(int block) {
+        return decompressedOffsets[block + 1] - decompressedOffsets[block];
+    }
+
+    /**
+     * Returns the total compressed byte length of all blocks.
+     *
+     * @return compressed size
+     */
+    public int compressedSize() {
+        return compressedOffsets[compressedOffsets.length - 1];
+    }
+
+    /**
+     * Returns the total decompressed byte length of all blocks.
+     *
+     * @return decompressed size
+     */
+    public int decompressedSize() {
+        return decompressedOffsets[decompressedOffsets.length - 1];
+    }
+}
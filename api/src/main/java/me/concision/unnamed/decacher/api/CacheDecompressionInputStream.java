@@ -3,14 +3,14 @@ package me.concision.unnamed.decacher.api;
 import lombok.NonNull;
 import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Objects;
 
 /**
- * Decompresses an cache entry's byte range from a {@link InputStream}.
+ * Decompresses an cache entry's byte range from a {@link InputStream}. See {@link CacheBlockDecoder} for decoding
+ * blocks between {@link java.nio.ByteBuffer}s without a stream.
  * <p>
  * Note: Oodle decompression is currently not supported.
  *
@@ -24,18 +24,30 @@ public class CacheDecompressionInputStream extends InputStream {
      */
     private final DataInputStream stream;
 
-    // internal buffer
+    // internal buffers
 
+    /**
+     * A reusable buffer holding a 4-byte block header.
+     */
+    private final byte[] header = new byte[CacheBlockDecoder.HEADER_SIZE];
+    /**
+     * A reusable buffer holding a compressed block, read from the underlying {@link InputStream} in one bulk read. Upon
+     * {@link CacheDecompressionInputStream#close()}, the field is set to {@code null}.
+     */
+    private byte[] input = new byte[CacheBlockDecoder.MAX_BLOCK_SIZE];
     /**
      * An internal decompression buffer. Upon {@link CacheDecompressionInputStream#close()}, the field is set to
      * {@code null}.
      */
-    private byte[] buffer = new byte[0xFFFF];
+    private byte[] buffer = new byte[CacheBlockDecoder.MAX_BLOCK_SIZE];
     /**
-     * A wrapped {@link ByteArrayInputStream} of {@link #buffer} with a specified byte length. Upon
-     * {@link CacheDecompressionInputStream#close()}, the field is set to {@code null}.
+     * Position of the next unread byte in {@link #buffer}.
+     */
+    private int position;
+    /**
+     * Number of decompressed bytes available in {@link #buffer}.
      */
-    private ByteArrayInputStream bufferStream;
+    private int limit;
 
 
     /**
@@ -56,17 +68,11 @@ public class CacheDecompressionInputStream extends InputStream {
      */
     @Override
     public int read() throws IOException {
-        if (bufferStream == null || bufferStream.available() == 0) {
-            this.decompress();
-        }
-
-        // if there are remaining bytes to be read, read them
-        if (bufferStream != null) {
-            return bufferStream.read();
+        if (position == limit && !this.decompress()) {
+            // no more bytes available
+            return -1;
         }
-
-        // no more bytes available
-        return -1;
+        return buffer[position++] & 0xFF;
     }
 
     /**
@@ -74,36 +80,24 @@ public class CacheDecompressionInputStream extends InputStream {
      */
     @Override
     public int read(@NonNull byte[] buffer, int offset, int len) throws IOException {
-        if (buffer == null) {
-            throw new NullPointerException();
-        } else if (offset < 0 || len < 0 || len > buffer.length - offset) {
+        if (offset < 0 || len < 0 || len > buffer.length - offset) {
             throw new IndexOutOfBoundsException();
         } else if (len == 0) {
             return 0;
         }
 
         int consumed = 0;
-        for (int needed = len; 0 < needed; ) {
-            // decompress more bytes
-            if (bufferStream == null || bufferStream.available() == 0) {
-                this.decompress();
-
-                // if there is still no buffer, then we have hit the end
-                if (bufferStream == null) {
-                    break;
-                }
-            }
-
-            // read bytes from a decompressed block
-            int read = bufferStream.read(buffer, offset + consumed, Math.min(needed, buffer.length - offset));
-
-            // break if the stream is fully consumed
-            if (read <= 0) {
+        while (consumed < len) {
+            // decompress more bytes; if there is no block remaining, then we have hit the end
+            if (position == limit && !this.decompress()) {
                 break;
             }
 
+            // copy bytes from the decompressed block
+            int read = Math.min(len - consumed, limit - position);
+            System.arraycopy(this.buffer, position, buffer, offset + consumed, read);
+            position += read;
             consumed += read;
-            needed -= read;
         }
 
         if (consumed == 0) {
@@ -113,90 +107,151 @@ public class CacheDecompressionInputStream extends InputStream {
     }
 
     /**
-     * Decompresses a block of up to 0xFFFF bytes from the underlying {@link InputStream}.
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    /**
+     * Skips decompressed bytes. Whole blocks are skipped in the underlying {@link InputStream} using only their
+     * headers; only the block containing the target position is decompressed.
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        // discard already decompressed bytes
+        long skipped = Math.min(n, limit - position);
+        position += (int) skipped;
+
+        while (skipped < n) {
+            // read next block header; stop if the stream is exhausted
+            if (!this.readHeader()) {
+                break;
+            }
+            int blockSize = this.blockSize();
+            int decompressedSize = this.decompressedSize();
+
+            if (decompressedSize <= n - skipped) {
+                // skip over the entire block without decompressing it
+                skipFully(stream, blockSize);
+                skipped += decompressedSize;
+            } else {
+                // decompress the block containing the target position
+                this.load(blockSize, decompressedSize);
+                position = (int) (n - skipped);
+                skipped = n;
+            }
+        }
+
+        return skipped;
+    }
+
+    /**
+     * Decompresses the next non-empty block of up to 0xFFFF bytes from the underlying {@link InputStream}.
+     *
+     * @return {@code true} if a block was decompressed, or {@code false} if the underlying {@link InputStream} is
+     * exhausted
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private boolean decompress() throws IOException {
+        do {
+            if (!this.readHeader()) {
+                return false;
+            }
+            this.load(this.blockSize(), this.decompressedSize());
+        } while (limit == 0);
+
+        return true;
+    }
+
+    /**
+     * Reads the next block header into {@link #header}.
      *
+     * @return {@code true} if a header was read, or {@code false} if the underlying {@link InputStream} is exhausted
      * @throws IOException if an underlying I/O exception occurs
      */
-    private void decompress() throws IOException {
+    private boolean readHeader() throws IOException {
+        // stream has been exhausted or closed
+        if (buffer == null) {
+            return false;
+        }
+
         // read next byte
         int next = stream.read();
         // if negative, there are no more bytes in this stream
         if (next < 0) {
             this.release();
-            return;
+            return false;
         }
+        header[0] = (byte) next;
+        stream.readFully(header, 1, 3);
+        return true;
+    }
 
-        int blockSize = ((next & 0xff) << 8) | (stream.read() & 0xFF);
-        int decompressedSize = ((stream.read() & 0xFF) << 8) | (stream.read() & 0xFF);
+    /**
+     * Parses the compressed size from the block header in {@link #header}.
+     *
+     * @return compressed block size
+     */
+    private int blockSize() {
+        return ((header[0] & 0xFF) << 8) | (header[1] & 0xFF);
+    }
 
+    /**
+     * Parses the decompressed size from the block header in {@link #header}.
+     *
+     * @return decompressed block size
+     */
+    private int decompressedSize() {
+        return ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+    }
+
+    /**
+     * Reads and decompresses a block following a read header into {@link #buffer}.
+     *
+     * @param blockSize        compressed block size
+     * @param decompressedSize decompressed block size
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private void load(int blockSize, int decompressedSize) throws IOException {
         // decompress block
+        CacheBlockDecoder.checkSupported(blockSize, decompressedSize);
         if (blockSize == decompressedSize) { // no compression
             stream.readFully(buffer, 0, blockSize);
-            bufferStream = new ByteArrayInputStream(buffer, 0, blockSize);
-        } else if (decompressedSize <= blockSize) { // oodle decompress
-            // TODO: implement oodle decompression
-            // int decompressedLength = OodleLZ_Decompress(new byte[blockSize], blockSize, new byte[decompressedLength], decompressedLength);
-            // assert decompressedLength == decompressedSize;
-            throw new IllegalStateException("OodleLZ_Decompress decompression is unsupported");
         } else {
-            int compressionIndex = 0;
-            int decompressionIndex = 0;
-
-            while (compressionIndex < blockSize) {
-                compressionIndex++;
-
-                int codeWord = stream.read() & 0xFF;
-                if (codeWord <= 0x1f) {
-                    // Encode literal
-                    if (decompressedSize < decompressionIndex + codeWord + 1) {
-                        throw new IndexOutOfBoundsException();
-                    }
-                    if (blockSize < compressionIndex + codeWord + 1) {
-                        throw new IndexOutOfBoundsException();
-                    }
-                    for (int i = codeWord; 0 <= i; i--) {
-                        buffer[decompressionIndex] = (byte) stream.read();
-                        decompressionIndex++;
-                        compressionIndex++;
-                    }
-                } else {
-                    // encode dictionary
-                    int copyLength = codeWord >>> 5; // high 3 bits are copy length
-                    if (copyLength == 7) {
-                        if (blockSize <= compressionIndex) {
-                            throw new IndexOutOfBoundsException();
-                        }
-                        copyLength += stream.read(); // read next byte and add 7 to it
-                        compressionIndex++;
-                    }
-
-                    if (blockSize <= compressionIndex) {
-                        throw new IndexOutOfBoundsException();
-                    }
-
-                    // 13 bits code look-back offset
-                    int dictDist = ((codeWord & 0x1f) << 8) | (stream.read() & 0xFF);
-
-                    compressionIndex++;
-                    copyLength += 2; // add 2 to copy length
-                    if (decompressedSize < decompressionIndex + copyLength) {
-                        throw new IndexOutOfBoundsException();
-                    }
-                    int decompressionStartPosition = decompressionIndex - 1 - dictDist;
-                    if (decompressionStartPosition < 0) {
-                        throw new IndexOutOfBoundsException();
-                    }
-                    for (int i = 0; i < copyLength; i++, decompressionIndex++) {
-                        buffer[decompressionIndex] = buffer[decompressionStartPosition + i];
-                    }
-                }
-            }
+            stream.readFully(input, 0, blockSize);
+            CacheBlockDecoder.decode(input, 0, blockSize, buffer, 0, decompressedSize);
+        }
 
-            if (decompressionIndex != decompressedSize && blockSize != 0) {
-                throw new IndexOutOfBoundsException();
-            }
+        position = 0;
+        limit = decompressedSize;
+    }
 
-            bufferStream = new ByteArrayInputStream(buffer, 0, decompressedSize);
+    /**
+     * Skips exactly {@code n} bytes of a stream.
+     *
+     * @param stream a {@link InputStream}
+     * @param n      number of bytes to skip
+     * @throws EOFException if the end of the stream is reached first
+     * @throws IOException  if an underlying I/O exception occurs
+     */
+    static void skipFully(@NonNull InputStream stream, long n) throws IOException {
+        while (0 < n) {
+            long skipped = stream.skip(n);
+            if (skipped <= 0) {
+                // skip is not guaranteed to make progress; verify the stream is not exhausted
+                if (stream.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            n -= skipped;
         }
     }
 
@@ -205,8 +260,10 @@ public class CacheDecompressionInputStream extends InputStream {
      */
     private void release() {
         // release buffers
+        input = null;
         buffer = null;
-        bufferStream = null;
+        position = 0;
+        limit = 0;
     }
 
     /**
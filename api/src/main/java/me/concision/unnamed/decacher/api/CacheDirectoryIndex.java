@@ -0,0 +1,226 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import lombok.Value;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * An immutable index of every .toc/.cache pair in a cache directory (e.g. {@code Cache.Windows}), combined into a single
+ * virtual namespace of absolute paths. Each .toc file is read into a {@link TocTree}; all .toc files are read
+ * concurrently.
+ * <p>
+ * Note: Instances are immutable and may be safely shared between threads.
+ *
+ * @author Concision
+ */
+public final class CacheDirectoryIndex {
+    /**
+     * File extension of .toc files
+     */
+    private static final String TOC_EXTENSION = ".toc";
+    /**
+     * File extension of .cache files
+     */
+    private static final String CACHE_EXTENSION = ".cache";
+
+    /**
+     * Indexed caches, sorted by name
+     */
+    private final List<IndexedCache> caches;
+
+    private CacheDirectoryIndex(List<IndexedCache> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Indexes all .toc/.cache pairs in a cache directory using the common {@link ForkJoinPool}.
+     *
+     * @param directory a cache directory (e.g. {@code Cache.Windows})
+     * @return an index of all caches in the directory
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #open(File, ForkJoinPool)
+     */
+    public static CacheDirectoryIndex open(@NonNull File directory) throws IOException {
+        return open(directory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Indexes all .toc/.cache pairs in a cache directory. A .toc file is only indexed if a .cache file of the same name
+     * exists (e.g. {@code H.Misc.toc} and {@code H.Misc.cache}).
+     *
+     * @param directory a cache directory (e.g. {@code Cache.Windows})
+     * @param pool      a {@link ForkJoinPool} to read .toc files on
+     * @return an index of all caches in the directory
+     * @throws FileNotFoundException if the directory does not exist
+     * @throws IOException           if an underlying I/O exception occurs
+     */
+    public static CacheDirectoryIndex open(@NonNull File directory, @NonNull ForkJoinPool pool) throws IOException {
+        File[] tocFiles = directory.listFiles((dir, name) -> name.endsWith(TOC_EXTENSION));
+        if (tocFiles == null) {
+            throw new FileNotFoundException("cache directory does not exist: " + directory.getAbsolutePath());
+        }
+        Arrays.sort(tocFiles);
+
+        // read all .toc files concurrently
+        List<String> names = new ArrayList<>();
+        List<File> cacheFiles = new ArrayList<>();
+        List<ForkJoinTask<TocTree>> trees = new ArrayList<>();
+        for (File tocFile : tocFiles) {
+            String name = tocFile.getName().substring(0, tocFile.getName().length() - TOC_EXTENSION.length());
+            File cacheFile = new File(directory, name + CACHE_EXTENSION);
+            if (!tocFile.isFile() || !cacheFile.isFile()) {
+                continue;
+            }
+            names.add(name);
+            cacheFiles.add(cacheFile);
+            trees.add(pool.submit(() -> TocTree.read(tocFile, pool)));
+        }
+
+        List<IndexedCache> caches = new ArrayList<>(trees.size());
+        try {
+            for (int i = 0; i < trees.size(); i++) {
+                caches.add(new IndexedCache(names.get(i), cacheFiles.get(i), trees.get(i).get()));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while indexing cache directory", exception);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            for (ForkJoinTask<TocTree> tree : trees) {
+                tree.cancel(false);
+            }
+        }
+        return new CacheDirectoryIndex(Collections.unmodifiableList(caches));
+    }
+
+    /**
+     * Returns the names of all indexed caches (e.g. {@code "H.Misc"}), sorted by name.
+     *
+     * @return indexed cache names
+     */
+    public List<String> caches() {
+        List<String> names = new ArrayList<>(caches.size());
+        for (IndexedCache cache : caches) {
+            names.add(cache.name);
+        }
+        return names;
+    }
+
+    /**
+     * Returns the {@link TocTree} of an indexed cache.
+     *
+     * @param cache a cache name (e.g. {@code "H.Misc"})
+     * @return an {@link Optional<TocTree>} of the cache's entries
+     */
+    public Optional<TocTree> tree(@NonNull String cache) {
+        for (IndexedCache indexed : caches) {
+            if (indexed.name.equals(cache)) {
+                return Optional.of(indexed.tree);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the total number of file entries across all caches.
+     *
+     * @return entry count
+     */
+    public int size() {
+        int size = 0;
+        for (IndexedCache cache : caches) {
+            size += cache.tree.size();
+        }
+        return size;
+    }
+
+    /**
+     * Finds the location of a file entry in the first cache (by name) that declares it.
+     *
+     * @param path an absolute path (e.g. {@code "/Path/To/Filename.ext"})
+     * @return an {@link Optional<Location>} of the entry
+     */
+    public Optional<Location> find(@NonNull String path) {
+        for (IndexedCache cache : caches) {
+            int index = cache.tree.indexOf(path);
+            if (0 <= index) {
+                return Optional.of(new Location(cache.name, cache.file, cache.tree.entry(index)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the locations of a file entry in every cache that declares it.
+     *
+     * @param path an absolute path (e.g. {@code "/Path/To/Filename.ext"})
+     * @return a {@link List<Location>} of the entry, ordered by cache name
+     */
+    public List<Location> locations(@NonNull String path) {
+        List<Location> locations = new ArrayList<>();
+        for (IndexedCache cache : caches) {
+            int index = cache.tree.indexOf(path);
+            if (0 <= index) {
+                locations.add(new Location(cache.name, cache.file, cache.tree.entry(index)));
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Immutable location of a file entry in a cache directory
+     */
+    @Value
+    public static class Location {
+        /**
+         * Cache name (e.g. {@code "H.Misc"})
+         */
+        String cache;
+        /**
+         * .cache file holding the entry
+         */
+        File cacheFile;
+        /**
+         * Cache entry inside of {@link #cacheFile}
+         */
+        CacheEntry entry;
+    }
+
+    /**
+     * An indexed .toc/.cache pair
+     */
+    @Value
+    private static class IndexedCache {
+        /**
+         * Cache name (e.g. {@code "H.Misc"})
+         */
+        String name;
+        /**
+         * .cache file
+         */
+        File file;
+        /**
+         * Entries of the corresponding .toc file
+         */
+        TocTree tree;
+    }
+}
@@ -0,0 +1,216 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Verifies the integrity of a .toc/.cache pair by decoding every block of every {@link CacheEntry} and discarding the
+ * output. Entries are verified concurrently on a {@link ForkJoinPool}, reading directly from a {@link MappedCacheFile}.
+ * <p>
+ * Note: Oodle compressed blocks cannot be decoded, and are reported as {@link Reason#UNSUPPORTED}.
+ *
+ * @author Concision
+ */
+@UtilityClass
+public class CacheVerifier {
+    /**
+     * Number of entries verified sequentially by a single task.
+     */
+    private static final int ENTRIES_PER_TASK = 64;
+
+    /**
+     * Per-thread scratch buffers to discard decoded blocks into.
+     */
+    private static final ThreadLocal<ByteBuffer> SCRATCH = ThreadLocal.withInitial(() -> ByteBuffer.allocate(CacheBlockDecoder.MAX_BLOCK_SIZE));
+
+    /**
+     * Verifies every entry of a .toc/.cache pair using the common {@link ForkJoinPool}.
+     *
+     * @param toc   a .toc file
+     * @param cache the corresponding .cache file
+     * @return a {@link List<Failure>} of all failed entries, ordered by {@link CacheEntry#offset()}
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #verify(File, File, ForkJoinPool)
+     */
+    public List<Failure> verify(@NonNull File toc, @NonNull File cache) throws IOException {
+        return verify(toc, cache, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verifies every entry of a .toc/.cache pair.
+     *
+     * @param toc   a .toc file
+     * @param cache the corresponding .cache file
+     * @param pool  a {@link ForkJoinPool} to verify entries on
+     * @return a {@link List<Failure>} of all failed entries, ordered by {@link CacheEntry#offset()}
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public List<Failure> verify(@NonNull File toc, @NonNull File cache, @NonNull ForkJoinPool pool) throws IOException {
+        TocTree tree = TocTree.read(toc, pool);
+
+        Collection<Failure> failures = new ConcurrentLinkedQueue<>();
+        try (MappedCacheFile cacheFile = new MappedCacheFile(cache)) {
+            pool.invoke(new VerifyTask(tree, cacheFile, failures, 0, tree.size()));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        List<Failure> sorted = new ArrayList<>(failures);
+        sorted.sort(Comparator.comparingLong(failure -> failure.entry().offset()));
+        return sorted;
+    }
+
+    /**
+     * Verifies a single entry.
+     *
+     * @param cacheFile the mapped .cache file
+     * @param entry     a {@link CacheEntry} to verify
+     * @return a {@link Failure}, or {@code null} if the entry is valid
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private Failure verify(MappedCacheFile cacheFile, CacheEntry entry) throws IOException {
+        if (entry.offset() < 0 || entry.compressedSize() < 0 || cacheFile.size() < entry.offset() + entry.compressedSize()) {
+            return new Failure(entry, Reason.OUT_OF_BOUNDS, "range exceeds .cache file size of " + cacheFile.size());
+        }
+        ByteBuffer src = cacheFile.slice(entry);
+
+        CacheBlockTable table;
+        try {
+            table = CacheBlockTable.scan(src);
+        } catch (BufferUnderflowException exception) {
+            return new Failure(entry, Reason.TRUNCATED, "last block exceeds entry range");
+        }
+        if (table.decompressedSize() != entry.uncompressedSize()) {
+            return new Failure(entry, Reason.SIZE_MISMATCH, "decompressed size " + table.decompressedSize() + " does not match " + entry.uncompressedSize());
+        }
+
+        ByteBuffer dst = SCRATCH.get();
+        for (int block = 0; block < table.blockCount(); block++) {
+            src.limit(table.compressedOffset(block + 1));
+            src.position(table.compressedOffset(block));
+            dst.clear();
+            try {
+                CacheBlockDecoder.decode(src, dst);
+            } catch (IllegalStateException exception) {
+                return new Failure(entry, Reason.UNSUPPORTED, "block " + block + ": " + exception.getMessage());
+            } catch (IndexOutOfBoundsException exception) {
+                return new Failure(entry, Reason.CORRUPT, "block " + block + " is malformed");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Recursively splits a range of entries and verifies each entry.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    @RequiredArgsConstructor
+    private static class VerifyTask extends RecursiveAction {
+        /**
+         * Entries to verify
+         */
+        private final TocTree tree;
+        /**
+         * The mapped .cache file
+         */
+        private final MappedCacheFile cacheFile;
+        /**
+         * Collected failures
+         */
+        private final Collection<Failure> failures;
+        /**
+         * First entry to verify (inclusive)
+         */
+        private final int from;
+        /**
+         * Last entry to verify (exclusive)
+         */
+        private final int to;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= ENTRIES_PER_TASK) {
+                for (int index = from; index < to; index++) {
+                    try {
+                        Failure failure = verify(cacheFile, tree.entry(index));
+                        if (failure != null) {
+                            failures.add(failure);
+                        }
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new VerifyTask(tree, cacheFile, failures, from, middle),
+                        new VerifyTask(tree, cacheFile, failures, middle, to)
+                );
+            }
+        }
+    }
+
+    /**
+     * Reason an entry failed verification
+     */
+    public enum Reason {
+        /**
+         * Entry byte range exceeds the .cache file
+         */
+        OUT_OF_BOUNDS,
+        /**
+         * A block header declares more bytes than remain in the entry byte range
+         */
+        TRUNCATED,
+        /**
+         * Sum of decompressed block sizes does not match {@link CacheEntry#uncompressedSize()}
+         */
+        SIZE_MISMATCH,
+        /**
+         * A block uses an unsupported compression format (i.e. Oodle)
+         */
+        UNSUPPORTED,
+        /**
+         * A compressed block is malformed
+         */
+        CORRUPT
+    }
+
+    /**
+     * Immutable verification failure of an entry
+     */
+    @Value
+    public static class Failure {
+        /**
+         * Failed entry
+         */
+        CacheEntry entry;
+        /**
+         * Reason of failure
+         */
+        Reason reason;
+        /**
+         * Human-readable failure detail
+         */
+        String message;
+    }
+}
@@ -0,0 +1,163 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.Getter;
+import lombok.NonNull;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-maps a .cache file and provides zero-copy {@link ByteBuffer} slices of its {@link CacheEntry}s. Entry data is
+ * read through the operating system's page cache rather than through a stream that must be skipped to each entry's
+ * offset.
+ * <p>
+ * Note: Slices are independent read-only views, and instances may be safely shared between threads. Slices remain
+ * valid after {@link #close()}.
+ *
+ * @author Concision
+ */
+public final class MappedCacheFile implements Closeable {
+    /**
+     * Distance between the start offsets of successive mapped segments.
+     */
+    private static final long SEGMENT_STRIDE = 1L << 30;
+    /**
+     * Maximum byte length of a mapped segment; segments overlap such that any entry of up to {@link #SEGMENT_STRIDE}
+     * bytes is fully contained in a single segment.
+     */
+    private static final long SEGMENT_LENGTH = Integer.MAX_VALUE;
+
+    /**
+     * Underlying .cache file channel
+     */
+    private final FileChannel channel;
+    /**
+     * Byte length of the .cache file
+     */
+    @Getter
+    private final long size;
+    /**
+     * Lazily mapped segments of the .cache file; segment {@code i} starts at {@code i * SEGMENT_STRIDE}.
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Opens a .cache file for memory-mapped reading.
+     *
+     * @param file a .cache file
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public MappedCacheFile(@NonNull File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+        } catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_STRIDE - 1) / SEGMENT_STRIDE)];
+    }
+
+    /**
+     * Returns a read-only view of a {@link CacheEntry}'s compressed bytes, positioned at zero with a limit of
+     * {@link CacheEntry#compressedSize()}. No bytes are copied.
+     *
+     * @param entry a {@link CacheEntry} read from the corresponding .toc file
+     * @return a read-only {@link ByteBuffer} slice
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public ByteBuffer slice(@NonNull CacheEntry entry) throws IOException {
+        return slice(entry.offset(), entry.compressedSize());
+    }
+
+    /**
+     * Returns a read-only view of a byte range of the .cache file, positioned at zero with a limit of {@code length}.
+     * No bytes are copied.
+     *
+     * @param offset byte offset in the .cache file
+     * @param length byte length of the range
+     * @return a read-only {@link ByteBuffer} slice
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public ByteBuffer slice(long offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || size < offset + length) {
+            throw new IllegalArgumentException("range exceeds .cache file bounds " +
+                    "(offset: " + offset + ", length: " + length + ", file size: " + size + ")"
+            );
+        }
+
+        if (length == 0) {
+            return ByteBuffer.allocate(0).asReadOnlyBuffer();
+        }
+
+        int index = (int) (offset / SEGMENT_STRIDE);
+        int relativeOffset = (int) (offset - index * SEGMENT_STRIDE);
+
+        ByteBuffer buffer;
+        MappedByteBuffer segment = this.segment(index);
+        if ((long) relativeOffset + length <= segment.capacity()) {
+            buffer = segment.duplicate();
+            buffer.position(relativeOffset);
+            buffer.limit(relativeOffset + length);
+        } else {
+            // range is larger than the segment overlap; map it on its own
+            buffer = channel.map(MapMode.READ_ONLY, offset, length);
+        }
+        return buffer.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Opens a decompressed stream of a {@link CacheEntry}'s contents, reading directly from mapped memory.
+     *
+     * @param entry a {@link CacheEntry} read from the corresponding .toc file
+     * @return a {@link CacheDecompressionInputStream} of the entry
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public InputStream open(@NonNull CacheEntry entry) throws IOException {
+        return new CacheDecompressionInputStream(new ByteBufferInputStream(this.slice(entry)));
+    }
+
+    /**
+     * Opens random access to a {@link CacheEntry}'s decompressed contents, reading directly from mapped memory.
+     *
+     * @param entry a {@link CacheEntry} read from the corresponding .toc file
+     * @return a {@link SeekableCacheEntry} of the entry
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public SeekableCacheEntry openSeekable(@NonNull CacheEntry entry) throws IOException {
+        return new SeekableCacheEntry(this.slice(entry));
+    }
+
+    /**
+     * Retrieves a mapped segment, mapping it if it has not been mapped yet.
+     *
+     * @param index segment index
+     * @return a mapped segment
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private synchronized MappedByteBuffer segment(int index) throws IOException {
+        MappedByteBuffer segment = segments[index];
+        if (segment == null) {
+            long start = index * SEGMENT_STRIDE;
+            segment = segments[index] = channel.map(MapMode.READ_ONLY, start, Math.min(SEGMENT_LENGTH, size - start));
+        }
+        return segment;
+    }
+
+    /**
+     * Closes the underlying file channel; previously returned slices remain readable.
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,331 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Decompresses a {@link CacheEntry}'s blocks concurrently on a {@link ForkJoinPool}. The block headers of an entry are
+ * scanned into a {@link CacheBlockTable} first; since blocks are independent, each block is then decoded directly into
+ * its final position of the decompressed output.
+ * <p>
+ * Note: Oodle decompression is currently not supported.
+ *
+ * @author Concision
+ */
+@UtilityClass
+public class ParallelCacheDecompressor {
+    /**
+     * Number of blocks decoded sequentially by a single task.
+     */
+    private static final int BLOCKS_PER_TASK = 4;
+    /**
+     * Number of blocks per parallelism level decoded ahead by {@link #stream(ByteBuffer, ForkJoinPool)}.
+     */
+    private static final int STREAM_WINDOW_BLOCKS = 8;
+
+    /**
+     * Decompresses the remaining bytes of a compressed buffer into a new array using the common {@link ForkJoinPool}.
+     *
+     * @param src a buffer positioned at the first block header of a {@link CacheEntry}
+     * @return decompressed entry contents
+     */
+    public byte[] decompress(@NonNull ByteBuffer src) {
+        return decompress(src, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Decompresses the remaining bytes of a compressed buffer into a new array.
+     *
+     * @param src  a buffer positioned at the first block header of a {@link CacheEntry}
+     * @param pool a {@link ForkJoinPool} to decode blocks on
+     * @return decompressed entry contents
+     */
+    public byte[] decompress(@NonNull ByteBuffer src, @NonNull ForkJoinPool pool) {
+        CacheBlockTable table = CacheBlockTable.scan(src);
+        byte[] contents = new byte[table.decompressedSize()];
+        decompress(src, table, ByteBuffer.wrap(contents), pool);
+        return contents;
+    }
+
+    /**
+     * Decompresses the remaining bytes of a compressed buffer into a destination buffer (heap or direct). On success,
+     * the source buffer is fully consumed and the destination buffer is advanced by the decompressed size.
+     *
+     * @param src  a buffer positioned at the first block header of a {@link CacheEntry}
+     * @param dst  a buffer with room for the entire decompressed entry
+     * @param pool a {@link ForkJoinPool} to decode blocks on
+     * @return the number of decompressed bytes written
+     * @throws BufferOverflowException if the destination buffer does not have room for the decompressed entry
+     */
+    public int decompress(@NonNull ByteBuffer src, @NonNull ByteBuffer dst, @NonNull ForkJoinPool pool) {
+        return decompress(src, CacheBlockTable.scan(src), dst, pool);
+    }
+
+    /**
+     * Opens a stream of the decompressed remaining bytes of a compressed buffer using the common {@link ForkJoinPool}.
+     *
+     * @param src a buffer positioned at the first block header of a {@link CacheEntry}
+     * @return a decompressed {@link InputStream}
+     * @see #stream(ByteBuffer, ForkJoinPool)
+     */
+    public InputStream stream(@NonNull ByteBuffer src) {
+        return stream(src, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Opens a stream of the decompressed remaining bytes of a compressed buffer. Windows of consecutive blocks are
+     * decoded concurrently, and the next window is decoded while the current window is read; memory usage is bounded
+     * by the window size rather than by the entry size.
+     *
+     * @param src  a buffer positioned at the first block header of a {@link CacheEntry}; its position is not modified
+     * @param pool a {@link ForkJoinPool} to decode blocks on
+     * @return a decompressed {@link InputStream}
+     */
+    public InputStream stream(@NonNull ByteBuffer src, @NonNull ForkJoinPool pool) {
+        ByteBuffer source = src.duplicate();
+        return new WindowedInputStream(source, CacheBlockTable.scan(source), pool, Math.max(1, pool.getParallelism()) * STREAM_WINDOW_BLOCKS);
+    }
+
+    /**
+     * Decompresses all blocks of a scanned buffer into a destination buffer.
+     *
+     * @param src   a scanned buffer positioned at the first block header
+     * @param table the scanned buffer's {@link CacheBlockTable}
+     * @param dst   a buffer with room for the entire decompressed entry
+     * @param pool  a {@link ForkJoinPool} to decode blocks on
+     * @return the number of decompressed bytes written
+     */
+    private int decompress(ByteBuffer src, CacheBlockTable table, ByteBuffer dst, ForkJoinPool pool) {
+        int size = table.decompressedSize();
+        if (dst.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+
+        pool.invoke(new DecodeTask(src, src.position(), table, dst, dst.position(), 0, table.blockCount()));
+
+        src.position(src.position() + table.compressedSize());
+        dst.position(dst.position() + size);
+        return size;
+    }
+
+    /**
+     * Recursively splits a range of blocks and decodes each block into its decompressed position.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    @RequiredArgsConstructor
+    private static class DecodeTask extends RecursiveAction {
+        /**
+         * Compressed source buffer
+         */
+        private final ByteBuffer src;
+        /**
+         * Absolute index of the first block in {@link #src}
+         */
+        private final int srcOffset;
+        /**
+         * Block boundaries of {@link #src}
+         */
+        private final CacheBlockTable table;
+        /**
+         * Decompression destination buffer
+         */
+        private final ByteBuffer dst;
+        /**
+         * Absolute index in {@link #dst} of decompressed offset {@code 0}; negative if {@link #dst} only holds a window
+         * of later blocks
+         */
+        private final int dstOffset;
+        /**
+         * First block to decode (inclusive)
+         */
+        private final int from;
+        /**
+         * Last block to decode (exclusive)
+         */
+        private final int to;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCKS_PER_TASK) {
+                // independent views, as buffer positions are not thread-safe
+                ByteBuffer input = src.duplicate();
+                ByteBuffer output = dst.duplicate();
+                for (int block = from; block < to; block++) {
+                    input.limit(srcOffset + table.compressedOffset(block + 1));
+                    input.position(srcOffset + table.compressedOffset(block));
+                    output.limit(dstOffset + table.decompressedOffset(block + 1));
+                    output.position(dstOffset + table.decompressedOffset(block));
+                    CacheBlockDecoder.decode(input, output);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new DecodeTask(src, srcOffset, table, dst, dstOffset, from, middle),
+                        new DecodeTask(src, srcOffset, table, dst, dstOffset, middle, to)
+                );
+            }
+        }
+    }
+
+    /**
+     * Decompresses windows of blocks concurrently, prefetching the next window while the current one is read.
+     */
+    private static class WindowedInputStream extends InputStream {
+        /**
+         * Compressed source buffer
+         */
+        private final ByteBuffer src;
+        /**
+         * Absolute index of the first block in {@link #src}
+         */
+        private final int srcOffset;
+        /**
+         * Block boundaries of {@link #src}
+         */
+        private final CacheBlockTable table;
+        /**
+         * Pool to decode windows on
+         */
+        private final ForkJoinPool pool;
+        /**
+         * Maximum number of blocks in a window
+         */
+        private final int windowBlocks;
+
+        /**
+         * Window currently being read; swapped with {@link #spare} on each window.
+         */
+        private ByteBuffer current;
+        /**
+         * Window being decoded by {@link #pending}.
+         */
+        private ByteBuffer spare;
+        /**
+         * Decode task of the next window, or {@code null} if there are no remaining windows.
+         */
+        private ForkJoinTask<?> pending;
+        /**
+         * First block of the next window to be scheduled.
+         */
+        private int nextBlock;
+
+        WindowedInputStream(ByteBuffer src, CacheBlockTable table, ForkJoinPool pool, int windowBlocks) {
+            this.src = src;
+            this.srcOffset = src.position();
+            this.table = table;
+            this.pool = pool;
+            this.windowBlocks = windowBlocks;
+
+            int windowSize = Math.min(table.decompressedSize(), windowBlocks * CacheBlockDecoder.MAX_BLOCK_SIZE);
+            this.current = ByteBuffer.allocate(windowSize);
+            this.current.limit(0);
+            this.spare = ByteBuffer.allocate(windowSize);
+            this.pending = this.schedule();
+        }
+
+        /**
+         * Schedules decoding of the next window into {@link #spare}.
+         *
+         * @return the decode task, or {@code null} if all blocks have been scheduled
+         */
+        private ForkJoinTask<?> schedule() {
+            if (table.blockCount() <= nextBlock) {
+                return null;
+            }
+            int from = nextBlock;
+            int to = Math.min(table.blockCount(), from + windowBlocks);
+            nextBlock = to;
+
+            spare.clear();
+            spare.limit(table.decompressedOffset(to) - table.decompressedOffset(from));
+            return pool.submit(new DecodeTask(src, srcOffset, table, spare, -table.decompressedOffset(from), from, to));
+        }
+
+        /**
+         * Ensures {@link #current} has remaining bytes.
+         *
+         * @return {@code false} if the stream is exhausted
+         */
+        private boolean fill() {
+            while (!current.hasRemaining()) {
+                if (pending == null) {
+                    return false;
+                }
+                pending.join();
+
+                ByteBuffer decoded = spare;
+                spare = current;
+                current = decoded;
+                current.position(0);
+
+                pending = this.schedule();
+            }
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() {
+            if (!this.fill()) {
+                return -1;
+            }
+            return current.get() & 0xFF;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(@NonNull byte[] buffer, int offset, int length) {
+            if (offset < 0 || length < 0 || length > buffer.length - offset) {
+                throw new IndexOutOfBoundsException();
+            } else if (length == 0) {
+                return 0;
+            }
+
+            int consumed = 0;
+            while (consumed < length && this.fill()) {
+                int read = Math.min(length - consumed, current.remaining());
+                current.get(buffer, offset + consumed, read);
+                consumed += read;
+            }
+            return consumed == 0 ? -1 : consumed;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int available() {
+            return current.remaining();
+        }
+
+        /**
+         * Cancels any pending window decode.
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+            current.limit(0);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Provides random access reads at any decompressed offset of a {@link CacheEntry}. A {@link CacheBlockTable} of the
+ * entry's compressed bytes is built once; each read then decompresses only the blocks overlapping the requested range.
+ * The most recently decompressed block is retained, such that sequential reads decompress each block once.
+ * <p>
+ * Note: Instances may be safely shared between threads; reads are serialized.
+ *
+ * @author Concision
+ */
+public final class SeekableCacheEntry {
+    /**
+     * Compressed entry bytes, positioned at the first block header
+     */
+    private final ByteBuffer compressed;
+    /**
+     * Block boundaries of {@link #compressed}
+     */
+    private final CacheBlockTable table;
+    /**
+     * Decompression buffer of the most recently read block
+     */
+    private final ByteBuffer block = ByteBuffer.allocate(CacheBlockDecoder.MAX_BLOCK_SIZE);
+    /**
+     * Index of the block decompressed in {@link #block}, or {@code -1} if none
+     */
+    private int loadedBlock = -1;
+
+    /**
+     * Initializes random access over the remaining bytes of a compressed buffer (e.g. a {@link MappedCacheFile}
+     * slice); the buffer's position is not modified.
+     *
+     * @param compressed a buffer positioned at the first block header of a {@link CacheEntry}
+     */
+    public SeekableCacheEntry(@NonNull ByteBuffer compressed) {
+        this.compressed = compressed.slice();
+        this.table = CacheBlockTable.scan(this.compressed);
+    }
+
+    /**
+     * Returns the decompressed byte length of the entry.
+     *
+     * @return decompressed size
+     */
+    public int size() {
+        return table.decompressedSize();
+    }
+
+    /**
+     * Reads decompressed bytes starting at a decompressed offset.
+     *
+     * @param position decompressed offset to begin reading at
+     * @param buffer   destination array
+     * @param offset   offset in the destination array
+     * @param length   maximum number of bytes to read
+     * @return the number of bytes read, or {@code -1} if {@code position} is at or beyond the end of the entry
+     */
+    public synchronized int read(long position, @NonNull byte[] buffer, int offset, int length) {
+        if (position < 0 || offset < 0 || length < 0 || length > buffer.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.size() <= position) {
+            return -1;
+        }
+
+        int consumed = 0;
+        int current = (int) position;
+        while (consumed < length && current < this.size()) {
+            int index = this.blockAt(current);
+            this.load(index);
+
+            int blockOffset = current - table.decompressedOffset(index);
+            int read = Math.min(length - consumed, table.decompressedLength(index) - blockOffset);
+            System.arraycopy(block.array(), blockOffset, buffer, offset + consumed, read);
+
+            consumed += read;
+            current += read;
+        }
+        return consumed;
+    }
+
+    /**
+     * Opens a sequential stream of the decompressed entry beginning at a decompressed offset.
+     *
+     * @param position decompressed offset to begin reading at
+     * @return a decompressed {@link InputStream}
+     */
+    public InputStream stream(long position) {
+        if (position < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new InputStream() {
+            /**
+             * Decompressed offset of the next byte to read
+             */
+            private long next = position;
+            /**
+             * Scratch buffer for single byte reads
+             */
+            private final byte[] single = new byte[1];
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int read() {
+                return this.read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int read(@NonNull byte[] buffer, int offset, int length) {
+                if (length == 0) {
+                    return 0;
+                }
+                int read = SeekableCacheEntry.this.read(next, buffer, offset, length);
+                if (0 < read) {
+                    next += read;
+                }
+                return read;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public long skip(long n) {
+                long skipped = Math.max(0, Math.min(n, size() - next));
+                next += skipped;
+                return skipped;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int available() {
+                return (int) Math.max(0, size() - next);
+            }
+        };
+    }
+
+    /**
+     * Finds the block containing a decompressed offset.
+     *
+     * @param position decompressed offset within the entry
+     * @return block index
+     */
+    private int blockAt(int position) {
+        // retained block is the common case for sequential reads
+        if (0 <= loadedBlock && table.decompressedOffset(loadedBlock) <= position && position < table.decompressedOffset(loadedBlock + 1)) {
+            return loadedBlock;
+        }
+
+        // binary search for the last block starting at or before the position, skipping empty blocks
+        int low = 0;
+        int high = table.blockCount() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (table.decompressedOffset(middle) <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Decompresses a block into {@link #block}, unless it is already retained.
+     *
+     * @param index block index
+     */
+    private void load(int index) {
+        if (loadedBlock == index) {
+            return;
+        }
+        // invalidate retained block in case decoding fails
+        loadedBlock = -1;
+
+        ByteBuffer input = compressed.duplicate();
+        input.limit(table.compressedOffset(index + 1));
+        input.position(table.compressedOffset(index));
+        block.clear();
+        CacheBlockDecoder.decode(input, block);
+        loadedBlock = index;
+    }
+}
@@ -0,0 +1,122 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compares two versions of a .toc file and reports added, removed, and modified file entries. An entry is considered
+ * modified if its {@link CacheEntry#timestamp()}, {@link CacheEntry#compressedSize()}, or
+ * {@link CacheEntry#uncompressedSize()} differ; an entry that has only been relocated in the .cache file is unchanged.
+ * <p>
+ * The previous .toc file is read into a compact {@link TocTree}, holding no per-entry objects; the current .toc file is
+ * streamed entry by entry.
+ *
+ * @author Concision
+ */
+@UtilityClass
+public class TocDiff {
+    /**
+     * Compares two versions of a .toc file. Added and modified entries are reported in the current .toc file's order,
+     * followed by removed entries in the previous .toc file's order.
+     *
+     * @param previous a {@link InputStream} containing the previous raw .toc file
+     * @param current  a {@link InputStream} containing the current raw .toc file
+     * @param consumer a consumer of each {@link Change}
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public void compare(@NonNull InputStream previous, @NonNull InputStream current, @NonNull Consumer<Change> consumer) throws IOException {
+        TocTree tree = TocTree.read(previous);
+        // previous entries that still exist
+        BitSet retained = new BitSet(tree.size());
+
+        TocStreamReader reader = new TocStreamReader(current);
+        for (CacheEntry entry; (entry = reader.nextEntry()) != null; ) {
+            int index = tree.indexOf(entry.filename());
+            if (index < 0) {
+                consumer.accept(new Change(Type.ADDED, null, entry));
+            } else if (!retained.get(index)) {
+                retained.set(index);
+                if (tree.timestamp(index) != entry.timestamp() ||
+                        tree.compressedSize(index) != entry.compressedSize() ||
+                        tree.uncompressedSize(index) != entry.uncompressedSize()) {
+                    consumer.accept(new Change(Type.MODIFIED, tree.entry(index), entry));
+                }
+            }
+        }
+
+        for (int index = retained.nextClearBit(0); index < tree.size(); index = retained.nextClearBit(index + 1)) {
+            consumer.accept(new Change(Type.REMOVED, tree.entry(index), null));
+        }
+    }
+
+    /**
+     * Compares two versions of a .toc file.
+     *
+     * @param previous a {@link InputStream} containing the previous raw .toc file
+     * @param current  a {@link InputStream} containing the current raw .toc file
+     * @return a {@link List<Change>} of all changes
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #compare(InputStream, InputStream, Consumer)
+     */
+    public List<Change> compare(@NonNull InputStream previous, @NonNull InputStream current) throws IOException {
+        List<Change> changes = new ArrayList<>();
+        compare(previous, current, changes::add);
+        return changes;
+    }
+
+    /**
+     * Type of change to an entry
+     */
+    public enum Type {
+        /**
+         * Entry only exists in the current .toc file
+         */
+        ADDED,
+        /**
+         * Entry only exists in the previous .toc file
+         */
+        REMOVED,
+        /**
+         * Entry exists in both .toc files, but its contents have changed
+         */
+        MODIFIED
+    }
+
+    /**
+     * Immutable change to an entry
+     */
+    @Value
+    public static class Change {
+        /**
+         * Type of change
+         */
+        @NonNull
+        Type type;
+        /**
+         * Entry in the previous .toc file, or {@code null} if {@link Type#ADDED}
+         */
+        CacheEntry previous;
+        /**
+         * Entry in the current .toc file, or {@code null} if {@link Type#REMOVED}
+         */
+        CacheEntry current;
+
+        /**
+         * Returns the absolute path of the changed entry.
+         *
+         * @return an absolute path (e.g. {@code "/Path/To/Filename.ext"})
+         */
+        public String path() {
+            return current != null ? current.filename() : previous.filename();
+        }
+    }
+}
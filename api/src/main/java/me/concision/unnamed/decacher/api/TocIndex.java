@@ -0,0 +1,169 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable, hashed index of all {@link CacheEntry}s declared in a .toc file. Unlike {@link TocStreamReader}, which
+ * consumes entries as they are read, an index is read once and supports any number of lookups afterwards.
+ * <p>
+ * Note: Instances are immutable and may be safely shared between threads.
+ *
+ * @author Concision
+ */
+public final class TocIndex {
+    /**
+     * Cache entries keyed by their absolute path (e.g. {@code "/Path/To/Filename.ext"}).
+     */
+    private final Map<String, CacheEntry> entries;
+    /**
+     * Immediate children absolute paths (both files and directories) keyed by their parent directory's absolute path;
+     * the root directory is keyed as {@code "/"}.
+     */
+    private final Map<String, List<String>> children;
+    /**
+     * All cache entries, sorted by {@link CacheEntry#offset()} in the corresponding .cache file.
+     */
+    private final List<CacheEntry> orderedEntries;
+
+    /**
+     * Constructs an index from all entries declared in a .toc file.
+     *
+     * @param entries all file entries read from a .toc file
+     */
+    private TocIndex(@NonNull List<CacheEntry> entries) {
+        Map<String, CacheEntry> entryMap = new HashMap<>(Math.max(16, (int) (entries.size() / 0.75f) + 1));
+        Map<String, Set<String>> childrenSets = new HashMap<>();
+
+        for (CacheEntry entry : entries) {
+            String path = entry.filename();
+            entryMap.put(path, entry);
+
+            // register the entry and all ancestor directories with their parents
+            for (String child = path; ; ) {
+                int separator = child.lastIndexOf('/');
+                if (separator < 0) {
+                    break;
+                }
+                String parent = separator == 0 ? "/" : child.substring(0, separator);
+                // stop once an ancestor has already been registered
+                if (!childrenSets.computeIfAbsent(parent, key -> new LinkedHashSet<>()).add(child) || separator == 0) {
+                    break;
+                }
+                child = parent;
+            }
+        }
+
+        Map<String, List<String>> childrenLists = new HashMap<>(Math.max(16, (int) (childrenSets.size() / 0.75f) + 1));
+        for (Map.Entry<String, Set<String>> directory : childrenSets.entrySet()) {
+            childrenLists.put(directory.getKey(), Collections.unmodifiableList(Arrays.asList(directory.getValue().toArray(new String[0]))));
+        }
+
+        CacheEntry[] sorted = entries.toArray(new CacheEntry[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(CacheEntry::offset));
+
+        this.entries = Collections.unmodifiableMap(entryMap);
+        this.children = Collections.unmodifiableMap(childrenLists);
+        this.orderedEntries = Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+
+    /**
+     * Reads all entries of a .toc file into an index.
+     *
+     * @param stream a {@link InputStream} containing a raw .toc file
+     * @return an index of all entries
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public static TocIndex read(@NonNull InputStream stream) throws IOException {
+        return read(new TocStreamReader(stream));
+    }
+
+    /**
+     * Reads all remaining entries from a {@link TocStreamReader} into an index.
+     *
+     * @param reader a {@link TocStreamReader} with unconsumed entries
+     * @return an index of all remaining entries
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public static TocIndex read(@NonNull TocStreamReader reader) throws IOException {
+        List<CacheEntry> entries = new ArrayList<>();
+        for (CacheEntry entry; (entry = reader.nextEntry()) != null; ) {
+            entries.add(entry);
+        }
+        return new TocIndex(entries);
+    }
+
+    /**
+     * Looks up a file entry by its exact absolute path.
+     *
+     * @param absoluteFilename an absolute path filename (e.g. {@code "/Path/To/Filename.ext"})
+     * @return an {@link Optional<CacheEntry>} of the cache entry
+     */
+    public Optional<CacheEntry> findEntry(@NonNull String absoluteFilename) {
+        return Optional.ofNullable(entries.get(absoluteFilename));
+    }
+
+    /**
+     * Checks if a path is a directory containing at least one file entry.
+     *
+     * @param absolutePath an absolute directory path (e.g. {@code "/Path/To"}); the root directory is {@code "/"}
+     * @return {@code true} if the directory is present
+     */
+    public boolean isDirectory(@NonNull String absolutePath) {
+        return children.containsKey(normalizeDirectory(absolutePath));
+    }
+
+    /**
+     * Lists the absolute paths of the immediate children (both files and directories) of a directory, in the order they
+     * were first declared.
+     *
+     * @param absolutePath an absolute directory path (e.g. {@code "/Path/To"}); the root directory is {@code "/"}
+     * @return an immutable {@link List<String>} of absolute paths, or an empty list if the directory is not present
+     */
+    public List<String> children(@NonNull String absolutePath) {
+        return children.getOrDefault(normalizeDirectory(absolutePath), Collections.emptyList());
+    }
+
+    /**
+     * Returns all file entries in the order they are stored in the corresponding .cache file (i.e. by
+     * {@link CacheEntry#offset()}), enabling sequential reads of the .cache file.
+     *
+     * @return an immutable {@link List<CacheEntry>} of all entries
+     */
+    public List<CacheEntry> entries() {
+        return orderedEntries;
+    }
+
+    /**
+     * Returns the number of file entries in the index.
+     *
+     * @return file entry count
+     */
+    public int size() {
+        return orderedEntries.size();
+    }
+
+    // utility
+    private static String normalizeDirectory(String path) {
+        if (path.isEmpty()) {
+            return "/";
+        }
+        if (1 < path.length() && path.endsWith("/")) {
+            return path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+}
@@ -7,16 +7,25 @@ import lombok.Value;
 
 import java.io.BufferedInputStream;
 import java.io.DataInputStream;
-import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Enables reading .cache file manifest entries as {@link CacheEntry}s from a corresponding .toc (table-of-contents)
@@ -32,6 +41,22 @@ public class TocStreamReader {
      * Currently expected 4-byte file header to recognize .toc files.
      */
     private static final byte[] TOC_HEADER = new byte[]{0x4E, (byte) 0xC6, 0x67, 0x18};
+    /**
+     * Byte length of the .toc file header (magic value and version).
+     */
+    static final int HEADER_SIZE = 8;
+    /**
+     * Byte length of a single .toc record.
+     */
+    static final int RECORD_SIZE = 96;
+    /**
+     * Offset of the 64-byte NUL-terminated name inside of a .toc record.
+     */
+    static final int NAME_OFFSET = 32;
+    /**
+     * Number of records read from the underlying {@link InputStream} in a single bulk read.
+     */
+    private static final int CHUNK_RECORDS = 1024;
 
 
     /**
@@ -63,14 +88,34 @@ public class TocStreamReader {
      * inserted below in the following initializer.
      */
     private final List<String> directoryHierarchy = new ArrayList<>(Collections.singletonList(""));
+    /**
+     * Indicates whether any records have been read by {@link #nextEntry()}; a {@link TocTree} can only be read from the
+     * start of the records.
+     */
+    private boolean recordsRead;
+
+    // records
+
+    /**
+     * Bulk read buffer of raw records; see {@link #records}.
+     */
+    private final byte[] chunk = new byte[RECORD_SIZE * CHUNK_RECORDS];
+    /**
+     * A little-endian view of {@link #chunk}; bytes between its position and limit have been read from {@link #stream}
+     * but not yet decoded.
+     */
+    private final ByteBuffer records = (ByteBuffer) ByteBuffer.wrap(chunk).order(ByteOrder.LITTLE_ENDIAN).limit(0);
+    /**
+     * Index of the current record in {@link #chunk}.
+     */
+    private int record;
 
 
     /**
      * Initializes a .toc entry reader from a compliant underlying {@link InputStream}.
      * <p>
-     * Note: The underlying {@link InputStream} should be internally buffered for performance reasons (e.g. single byte
-     * {@link InputStream#read()}s); this can be done by layering the stream through a {@link BufferedInputStream}
-     * prior.
+     * Note: Records are read from the underlying {@link InputStream} in large chunks and decoded in place; layering the
+     * stream through a {@link BufferedInputStream} is unnecessary.
      * <p>
      * Note: An invalid format could cause an expected over-consumption of the underlying {@link InputStream}; the
      * {@param inputStream} should be limited to a certain number of bytes if necessary, before invoking this method.
@@ -134,11 +179,162 @@ public class TocStreamReader {
      * @throws IOException if an underlying I/O exception occurs
      */
     public CacheEntry nextEntry() throws IOException {
+        this.validateHeader();
+        recordsRead = true;
+
+
+        // attempt to read a cache entry until a file is read, or end of stream
+        while (this.nextRecord()) {
+            // parse toc cache entry
+            long offset = records.getLong(record);
+            long timeStamp = records.getLong(record + 8);
+            int compressedFileSize = records.getInt(record + 16);
+            int uncompressedFileSize = records.getInt(record + 20);
+            // unknown 4 bytes at record + 24; likely an integer
+            int depthId = records.getInt(record + 28);
+
+            // skip deleted files (timestamp of 0 indicates deleted)
+            if (timeStamp == 0) continue;
+
+            // retrieve parent directory by index
+            String parent = directoryHierarchy.get(depthId);
+            // construct the absolute path of the cache entry
+            String absoluteFileName = parent + "/" + new String(chunk, record + NAME_OFFSET, nameLength(records, record));
+
+            // check if entry is a directory (offset is non-positive)
+            if (offset == -1) {
+                // declare new directory in cache file
+                directoryHierarchy.add(absoluteFileName);
+                continue;
+            }
+
+            // construct cache entry
+            return new CacheEntry(
+                    absoluteFileName,
+                    offset,
+                    timeStamp,
+                    compressedFileSize,
+                    uncompressedFileSize
+            );
+        }
+
+        // end of stream, no cache entry available
+        return null;
+    }
+
+    /**
+     * Reads all records into a compact {@link TocTree}, which stores entries as a parent directory index and a name
+     * rather than as {@link CacheEntry}s with absolute paths. This must be invoked before any {@link #nextEntry()}.
+     *
+     * @return a {@link TocTree} of all remaining entries
+     * @throws IOException           if an underlying I/O exception occurs
+     * @throws IllegalStateException if entries have already been read with {@link #nextEntry()}
+     */
+    public TocTree readTree() throws IOException {
+        if (recordsRead) {
+            throw new IllegalStateException("entries have already been read");
+        }
+        this.validateHeader();
+        recordsRead = true;
+
+        TocTree.Builder builder = new TocTree.Builder(Math.max(0, stream.available() / RECORD_SIZE));
+        while (this.nextRecord()) {
+            addRecord(builder, records, record);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Decodes a single record in place and adds it to a {@link TocTree.Builder}.
+     *
+     * @param builder a {@link TocTree.Builder} to add the record to
+     * @param records a little-endian buffer containing the record
+     * @param record  absolute index of the record in the buffer
+     */
+    static void addRecord(TocTree.Builder builder, ByteBuffer records, int record) {
+        long offset = records.getLong(record);
+        long timeStamp = records.getLong(record + 8);
+        // skip deleted files (timestamp of 0 indicates deleted)
+        if (timeStamp == 0) return;
+
+        int depthId = records.getInt(record + 28);
+        // check if entry is a directory (offset is non-positive)
+        if (offset == -1) {
+            builder.addDirectory(depthId, records, record + NAME_OFFSET, nameLength(records, record));
+        } else {
+            builder.addEntry(offset, timeStamp, records.getInt(record + 16), records.getInt(record + 20), depthId, records, record + NAME_OFFSET, nameLength(records, record));
+        }
+    }
+
+    /**
+     * Advances {@link #record} to the next complete record, refilling {@link #records} in bulk from {@link #stream}
+     * when it is exhausted. A truncated trailing record is treated as the end of the stream.
+     *
+     * @return {@code true} if a record is available, or {@code false} if the end of the stream has been reached
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private boolean nextRecord() throws IOException {
+        if (records.remaining() < RECORD_SIZE) {
+            // move any partial record to the start, and read at least one entire record
+            records.compact();
+            while (records.position() < RECORD_SIZE) {
+                int read = stream.read(chunk, records.position(), records.remaining());
+                if (read < 0) {
+                    break;
+                }
+                records.position(records.position() + read);
+            }
+            records.flip();
+
+            if (records.remaining() < RECORD_SIZE) {
+                return false;
+            }
+        }
+
+        record = records.position();
+        records.position(record + RECORD_SIZE);
+        return true;
+    }
+
+    /**
+     * Finds the byte length of the NUL-terminated name of a record.
+     *
+     * @param records a buffer containing the record
+     * @param record  absolute index of the record in the buffer
+     * @return name byte length
+     */
+    static int nameLength(ByteBuffer records, int record) {
+        int start = record + NAME_OFFSET;
+        int end = record + RECORD_SIZE;
+        int nameEof = start;
+        while (nameEof < end && records.get(nameEof) != '\0') {
+            nameEof++;
+        }
+        return nameEof - start;
+    }
+
+    /**
+     * Ensures the .toc file header has been read, and validates it is supported.
+     *
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private void validateHeader() throws IOException {
         // ensure header is read
         if (header == null) {
             this.readHeader();
         }
         // validate headers before processing content
+        validateHeader(header, version);
+    }
+
+    /**
+     * Validates a .toc file header is supported.
+     *
+     * @param header  4-byte .toc header
+     * @param version .toc version format
+     * @throws IllegalArgumentException if the header magic value or version is not supported
+     */
+    static void validateHeader(byte[] header, int version) {
         // verify magic value
         if (!Arrays.equals(header, TOC_HEADER)) {
             throw new IllegalArgumentException("header magic value mismatch " +
@@ -150,65 +346,13 @@ public class TocStreamReader {
         if (version != 0x14) {
             throw new IllegalArgumentException("version not supported by TOC reader: " + version);
         }
-
-
-        // attempt to read a cache entry until a file is read, or end of stream
-        try {
-            while (true) {
-                // parse toc cache entry
-                long offset = Long.reverseBytes(stream.readLong());
-                long timeStamp = Long.reverseBytes(stream.readLong());
-                int compressedFileSize = Integer.reverseBytes(stream.readInt());
-                int uncompressedFileSize = Integer.reverseBytes(stream.readInt());
-                // unknown 4 bytes; likely an integer
-                stream.readInt();
-                int depthId = Integer.reverseBytes(stream.readInt());
-                String filename;
-                {
-                    byte[] filenameBuffer = new byte[64];
-                    stream.readFully(filenameBuffer);
-                    int nameEof = 0;
-                    while (nameEof < filenameBuffer.length && filenameBuffer[nameEof] != '\0') {
-                        nameEof++;
-                    }
-                    filename = new String(filenameBuffer, 0, nameEof);
-                }
-
-                // skip deleted files (timestamp of 0 indicates deleted)
-                if (timeStamp == 0) continue;
-
-                // retrieve parent directory by index
-                String parent = directoryHierarchy.get(depthId);
-                // construct the absolute path of the cache entry
-                String absoluteFileName = parent + "/" + filename;
-
-                // check if entry is a directory (offset is non-positive)
-                if (offset == -1) {
-                    // declare new directory in cache file
-                    directoryHierarchy.add(absoluteFileName);
-                    continue;
-                }
-
-                // construct cache entry
-                return new CacheEntry(
-                        absoluteFileName,
-                        offset,
-                        timeStamp,
-                        compressedFileSize,
-                        uncompressedFileSize
-                );
-            }
-        } catch (EOFException ignored) {
-            // end of stream, no cache entry available
-            return null;
-        }
     }
 
     /**
      * Skip through {@link CacheEntry}s to search for a specific file entry.
      * <p>
      * Note that this should NOT be more than once, as entries are skipped and the order of cache entries is not
-     * necessarily guaranteed.
+     * necessarily guaranteed. For repeated lookups, read the entries into a {@link TocIndex} instead.
      *
      * @param absoluteFilename an absolute path filename (e.g. {@code "/Path/To/Filename.ext"})
      * @return an {@link Optional<CacheEntry>} of the cache entry
@@ -223,12 +367,73 @@ public class TocStreamReader {
         return Optional.empty();
     }
 
+    /**
+     * Returns a sequential, lazily read {@link Stream<CacheEntry>} of all remaining entries, in the same order as
+     * {@link #nextEntry()}. Since the number of entries cannot be known ahead of reading, the stream is not sized and
+     * splits poorly; for parallel pipelines over a .toc file, use {@link #stream(File)} instead.
+     * <p>
+     * Note: An {@link IOException} while reading is rethrown as an {@link UncheckedIOException}.
+     *
+     * @return a {@link Stream<CacheEntry>} of remaining entries
+     */
+    public Stream<CacheEntry> stream() {
+        Iterator<CacheEntry> iterator = new Iterator<CacheEntry>() {
+            /**
+             * Next entry to return, or {@code null} if it has not been read yet
+             */
+            private CacheEntry next;
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = TocStreamReader.this.nextEntry();
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }
+                return next != null;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public CacheEntry next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                CacheEntry entry = next;
+                next = null;
+                return entry;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Returns a {@link Stream<CacheEntry>} of all entries in a .toc file, in the same order as {@link #nextEntry()}.
+     * The file is read into a {@link TocTree} in parallel; the returned stream is {@link Spliterator#SIZED} and
+     * {@link Spliterator#SUBSIZED}, and splits evenly along entry ranges when {@link Stream#parallel()}.
+     *
+     * @param file a .toc file
+     * @return a sequential {@link Stream<CacheEntry>} of all entries
+     * @throws IOException if an underlying I/O exception occurs
+     * @see TocTree#stream()
+     */
+    public static Stream<CacheEntry> stream(@NonNull File file) throws IOException {
+        return TocTree.read(file).stream();
+    }
+
 
     /**
      * Immutable cache entry structure
      */
     @Value
-    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
     public static class CacheEntry {
         /**
          * Absolute path/filename
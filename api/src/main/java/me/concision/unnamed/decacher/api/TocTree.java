@@ -0,0 +1,853 @@
+package me.concision.unnamed.decacher.api;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A compact, immutable representation of all file entries and directories declared in a .toc file. Rather than
+ * holding a {@link CacheEntry} and an absolute path {@link String} per entry, entry fields are stored in primitive
+ * arrays (struct-of-arrays), and each entry and directory only stores its parent directory index and its own name.
+ * Absolute paths and {@link CacheEntry}s are built on demand.
+ * <p>
+ * Entries are indexed from {@code 0} to {@link #size()} (exclusive) in declaration order. Directories are indexed from
+ * {@code 0} to {@link #directoryCount()} (exclusive) in declaration order; the root directory is always index
+ * {@code 0}.
+ * <p>
+ * Note: Instances are immutable and may be safely shared between threads.
+ *
+ * @author Concision
+ */
+public final class TocTree {
+    /**
+     * Index of the root directory, which is never explicitly declared in a .toc file.
+     */
+    public static final int ROOT = 0;
+    /**
+     * Number of records decoded by a single task when reading in parallel.
+     */
+    private static final int RANGE_RECORDS = 8192;
+
+    // entries
+
+    /**
+     * Number of file entries
+     */
+    private final int size;
+    /**
+     * Byte offsets of each entry inside of the corresponding .cache file
+     */
+    private final long[] offsets;
+    /**
+     * UNIX timestamps of each entry
+     */
+    private final long[] timestamps;
+    /**
+     * Compressed byte sizes of each entry
+     */
+    private final int[] compressedSizes;
+    /**
+     * Uncompressed byte sizes of each entry
+     */
+    private final int[] uncompressedSizes;
+    /**
+     * Parent directory index of each entry
+     */
+    private final int[] parents;
+    /**
+     * Offsets of each entry's name in {@link #names}; contains an additional trailing element holding the end of the
+     * last entry's name.
+     */
+    private final int[] nameOffsets;
+    /**
+     * Pool of all raw entry names
+     */
+    private final byte[] names;
+
+    // directories
+
+    /**
+     * Number of directories, including the root directory
+     */
+    private final int directoryCount;
+    /**
+     * Parent directory index of each directory; the root directory is its own parent.
+     */
+    private final int[] directoryParents;
+    /**
+     * Offsets of each directory's name in {@link #directoryNames}; contains an additional trailing element holding the
+     * end of the last directory's name.
+     */
+    private final int[] directoryNameOffsets;
+    /**
+     * Pool of all raw directory names
+     */
+    private final byte[] directoryNames;
+
+    // lookup
+
+    /**
+     * Lazily built open-addressing hash table of entries keyed by parent directory and name; each slot holds an entry
+     * index plus one, or {@code 0} if empty.
+     */
+    private volatile int[] entryTable;
+    /**
+     * Lazily built open-addressing hash table of directories keyed by parent directory and name; each slot holds a
+     * directory index plus one, or {@code 0} if empty.
+     */
+    private volatile int[] directoryTable;
+
+    private TocTree(Builder builder) {
+        this.size = builder.size;
+        this.offsets = trim(builder.offsets, size);
+        this.timestamps = trim(builder.timestamps, size);
+        this.compressedSizes = trim(builder.compressedSizes, size);
+        this.uncompressedSizes = trim(builder.uncompressedSizes, size);
+        this.parents = trim(builder.parents, size);
+        this.nameOffsets = trim(builder.nameOffsets, size + 1);
+        this.names = trim(builder.names, builder.nameOffsets[size]);
+        this.directoryCount = builder.directoryCount;
+        this.directoryParents = trim(builder.directoryParents, directoryCount);
+        this.directoryNameOffsets = trim(builder.directoryNameOffsets, directoryCount + 1);
+        this.directoryNames = trim(builder.directoryNames, builder.directoryNameOffsets[directoryCount]);
+    }
+
+    /**
+     * Reads a compact tree of all entries from a .toc file.
+     *
+     * @param stream a {@link InputStream} containing a raw .toc file
+     * @return a {@link TocTree} of all entries
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public static TocTree read(@NonNull InputStream stream) throws IOException {
+        return new TocStreamReader(stream).readTree();
+    }
+
+    /**
+     * Reads a compact tree of all entries from a .toc file in parallel using the common {@link ForkJoinPool}.
+     *
+     * @param file a .toc file
+     * @return a {@link TocTree} of all entries
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #read(File, ForkJoinPool)
+     */
+    public static TocTree read(@NonNull File file) throws IOException {
+        return read(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads a compact tree of all entries from a .toc file in parallel. Since records have a fixed size, the
+     * memory-mapped file is split into ranges of records that are decoded concurrently; parent directory references
+     * are then validated and the ranges are concatenated in a cheap sequential pass. Entries and directories are in
+     * the same order as read by {@link TocStreamReader#nextEntry()}.
+     *
+     * @param file a .toc file
+     * @param pool a {@link ForkJoinPool} to decode ranges on
+     * @return a {@link TocTree} of all entries
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public static TocTree read(@NonNull File file, @NonNull ForkJoinPool pool) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        // validate header
+        if (buffer.limit() < TocStreamReader.HEADER_SIZE) {
+            throw new EOFException();
+        }
+        byte[] header = new byte[4];
+        buffer.get(header);
+        TocStreamReader.validateHeader(header, buffer.getInt(4));
+
+        // decode ranges; a truncated trailing record is ignored
+        int records = (buffer.limit() - TocStreamReader.HEADER_SIZE) / TocStreamReader.RECORD_SIZE;
+        Builder[] ranges = new Builder[Math.max(1, (records + RANGE_RECORDS - 1) / RANGE_RECORDS)];
+        pool.invoke(new RangeTask(buffer, records, ranges, 0, ranges.length));
+
+        return Builder.concat(ranges).build();
+    }
+
+    // entries
+
+    /**
+     * Returns the number of file entries.
+     *
+     * @return entry count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the byte offset of an entry inside of the corresponding .cache file.
+     *
+     * @param entry entry index
+     * @return .cache offset
+     */
+    public long offset(int entry) {
+        return offsets[checkEntry(entry)];
+    }
+
+    /**
+     * Returns the UNIX timestamp of an entry.
+     *
+     * @param entry entry index
+     * @return timestamp
+     */
+    public long timestamp(int entry) {
+        return timestamps[checkEntry(entry)];
+    }
+
+    /**
+     * Returns the compressed byte size of an entry inside the corresponding .cache file.
+     *
+     * @param entry entry index
+     * @return compressed size
+     */
+    public int compressedSize(int entry) {
+        return compressedSizes[checkEntry(entry)];
+    }
+
+    /**
+     * Returns the uncompressed byte size of an entry.
+     *
+     * @param entry entry index
+     * @return uncompressed size
+     */
+    public int uncompressedSize(int entry) {
+        return uncompressedSizes[checkEntry(entry)];
+    }
+
+    /**
+     * Returns the parent directory index of an entry.
+     *
+     * @param entry entry index
+     * @return directory index
+     */
+    public int parent(int entry) {
+        return parents[checkEntry(entry)];
+    }
+
+    /**
+     * Returns the name of an entry, excluding its parent directory.
+     *
+     * @param entry entry index
+     * @return entry name (e.g. {@code "Filename.ext"})
+     */
+    public String name(int entry) {
+        checkEntry(entry);
+        return new String(names, nameOffsets[entry], nameOffsets[entry + 1] - nameOffsets[entry]);
+    }
+
+    /**
+     * Builds the absolute path of an entry.
+     *
+     * @param entry entry index
+     * @return an absolute path (e.g. {@code "/Path/To/Filename.ext"})
+     */
+    public String path(int entry) {
+        checkEntry(entry);
+        StringBuilder builder = new StringBuilder(64);
+        this.appendDirectory(builder, parents[entry]);
+        return builder
+                .append('/')
+                .append(new String(names, nameOffsets[entry], nameOffsets[entry + 1] - nameOffsets[entry]))
+                .toString();
+    }
+
+    /**
+     * Builds a {@link CacheEntry} of an entry.
+     *
+     * @param entry entry index
+     * @return a {@link CacheEntry}
+     */
+    public CacheEntry entry(int entry) {
+        return new CacheEntry(
+                this.path(entry),
+                offsets[entry],
+                timestamps[entry],
+                compressedSizes[entry],
+                uncompressedSizes[entry]
+        );
+    }
+
+    /**
+     * Returns a sequential {@link Stream<CacheEntry>} of all entries in declaration order. The stream's
+     * {@link Spliterator} is {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, and splits evenly along entry
+     * ranges when {@link Stream#parallel()}; {@link CacheEntry}s are only built as they are consumed.
+     *
+     * @return a {@link Stream<CacheEntry>} of all entries
+     */
+    public Stream<CacheEntry> stream() {
+        return StreamSupport.stream(new EntrySpliterator(0, size), false);
+    }
+
+    // directories
+
+    /**
+     * Returns the number of directories, including the root directory.
+     *
+     * @return directory count
+     */
+    public int directoryCount() {
+        return directoryCount;
+    }
+
+    /**
+     * Returns the parent directory index of a directory; the root directory is its own parent.
+     *
+     * @param directory directory index
+     * @return parent directory index
+     */
+    public int directoryParent(int directory) {
+        return directoryParents[checkDirectory(directory)];
+    }
+
+    /**
+     * Returns the name of a directory, excluding its parent directory; the root directory's name is empty.
+     *
+     * @param directory directory index
+     * @return directory name
+     */
+    public String directoryName(int directory) {
+        checkDirectory(directory);
+        return new String(directoryNames, directoryNameOffsets[directory], directoryNameOffsets[directory + 1] - directoryNameOffsets[directory]);
+    }
+
+    /**
+     * Builds the absolute path of a directory; the root directory's path is empty.
+     *
+     * @param directory directory index
+     * @return an absolute path (e.g. {@code "/Path/To"})
+     */
+    public String directoryPath(int directory) {
+        checkDirectory(directory);
+        StringBuilder builder = new StringBuilder(64);
+        this.appendDirectory(builder, directory);
+        return builder.toString();
+    }
+
+    // lookup
+
+    /**
+     * Finds the index of an entry by its absolute path. Lookup tables are built on first use, and do not hold any
+     * path {@link String}s. If multiple entries share a path, the first declared entry is found.
+     *
+     * @param path an absolute path (e.g. {@code "/Path/To/Filename.ext"})
+     * @return the entry index, or {@code -1} if no entry exists
+     */
+    public int indexOf(@NonNull String path) {
+        int separator = path.lastIndexOf('/');
+        if (separator < 0) {
+            return -1;
+        }
+        int parent = this.directoryIndexOf(path.substring(0, separator));
+        if (parent < 0) {
+            return -1;
+        }
+
+        int[] table = entryTable;
+        if (table == null) {
+            entryTable = table = buildTable(size, parents, names, nameOffsets, 0);
+        }
+        return find(table, parent, path.substring(separator + 1).getBytes(), parents, names, nameOffsets);
+    }
+
+    /**
+     * Finds the index of a directory by its absolute path.
+     *
+     * @param path an absolute path (e.g. {@code "/Path/To"}); the root directory may be specified as {@code ""} or
+     *             {@code "/"}
+     * @return the directory index, or {@code -1} if no directory exists
+     */
+    public int directoryIndexOf(@NonNull String path) {
+        if (path.isEmpty() || path.equals("/")) {
+            return ROOT;
+        }
+        if (path.charAt(0) != '/') {
+            return -1;
+        }
+
+        int[] table = directoryTable;
+        if (table == null) {
+            directoryTable = table = buildTable(directoryCount, directoryParents, directoryNames, directoryNameOffsets, 1);
+        }
+
+        // resolve each path segment from the root down
+        int directory = ROOT;
+        for (int start = 1, end; start <= path.length() && 0 <= directory; start = end + 1) {
+            end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            directory = find(table, directory, path.substring(start, end).getBytes(), directoryParents, directoryNames, directoryNameOffsets);
+        }
+        return directory;
+    }
+
+    /**
+     * Builds an open-addressing hash table of (parent directory, name) keys.
+     *
+     * @param count       number of keys
+     * @param parents     parent directory of each key
+     * @param pool        pool of raw names
+     * @param nameOffsets offsets of each key's name in the pool
+     * @param from        first key to insert
+     * @return a hash table of key indices plus one
+     */
+    private static int[] buildTable(int count, int[] parents, byte[] pool, int[] nameOffsets, int from) {
+        int[] table = new int[Integer.highestOneBit(Math.max(1, count) * 2) * 2];
+        int mask = table.length - 1;
+        for (int index = from; index < count; index++) {
+            int slot = hash(parents[index], pool, nameOffsets[index], nameOffsets[index + 1]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index + 1;
+        }
+        return table;
+    }
+
+    /**
+     * Finds a (parent directory, name) key in a hash table built by {@link #buildTable}.
+     *
+     * @param table       hash table
+     * @param parent      parent directory index
+     * @param name        raw name
+     * @param parents     parent directory of each key
+     * @param pool        pool of raw names
+     * @param nameOffsets offsets of each key's name in the pool
+     * @return the first inserted matching key index, or {@code -1} if no key matches
+     */
+    private static int find(int[] table, int parent, byte[] name, int[] parents, byte[] pool, int[] nameOffsets) {
+        int mask = table.length - 1;
+        for (int slot = hash(parent, name, 0, name.length) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            int start = nameOffsets[index];
+            int length = nameOffsets[index + 1] - start;
+            if (parents[index] == parent && length == name.length && rangeEquals(pool, start, name, length)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int hash(int parent, byte[] name, int from, int to) {
+        int hash = parent;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + name[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean rangeEquals(byte[] pool, int start, byte[] name, int length) {
+        for (int i = 0; i < length; i++) {
+            if (pool[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // utility
+
+    private static long[] trim(long[] array, int length) {
+        return array.length == length ? array : Arrays.copyOf(array, length);
+    }
+
+    private static int[] trim(int[] array, int length) {
+        return array.length == length ? array : Arrays.copyOf(array, length);
+    }
+
+    private static byte[] trim(byte[] array, int length) {
+        return array.length == length ? array : Arrays.copyOf(array, length);
+    }
+
+    /**
+     * Appends the absolute path of a directory.
+     *
+     * @param builder   path builder
+     * @param directory directory index
+     */
+    private void appendDirectory(StringBuilder builder, int directory) {
+        // collect ancestors from the directory up to the root
+        int depth = 0;
+        int[] ancestors = new int[16];
+        for (int current = directory; current != ROOT; current = directoryParents[current]) {
+            if (ancestors.length <= depth) {
+                ancestors = Arrays.copyOf(ancestors, depth * 2);
+            }
+            ancestors[depth++] = current;
+        }
+
+        // append ancestors from the root down
+        while (0 < depth) {
+            int current = ancestors[--depth];
+            builder.append('/').append(new String(directoryNames, directoryNameOffsets[current], directoryNameOffsets[current + 1] - directoryNameOffsets[current]));
+        }
+    }
+
+    private int checkEntry(int entry) {
+        if (entry < 0 || size <= entry) {
+            throw new IndexOutOfBoundsException("entry index: " + entry + ", size: " + size);
+        }
+        return entry;
+    }
+
+    private int checkDirectory(int directory) {
+        if (directory < 0 || directoryCount <= directory) {
+            throw new IndexOutOfBoundsException("directory index: " + directory + ", directory count: " + directoryCount);
+        }
+        return directory;
+    }
+
+    /**
+     * Splits a range of entries, building {@link CacheEntry}s as they are traversed.
+     */
+    private final class EntrySpliterator implements Spliterator<CacheEntry> {
+        /**
+         * Next entry to traverse
+         */
+        private int index;
+        /**
+         * Last entry to traverse (exclusive)
+         */
+        private final int end;
+
+        EntrySpliterator(int index, int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(@NonNull Consumer<? super CacheEntry> action) {
+            if (end <= index) {
+                return false;
+            }
+            action.accept(TocTree.this.entry(index++));
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(@NonNull Consumer<? super CacheEntry> action) {
+            while (index < end) {
+                action.accept(TocTree.this.entry(index++));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Spliterator<CacheEntry> trySplit() {
+            int middle = (index + end) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            Spliterator<CacheEntry> prefix = new EntrySpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    /**
+     * Recursively splits ranges of records and decodes each range into its own {@link Builder}.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    @RequiredArgsConstructor
+    private static class RangeTask extends RecursiveAction {
+        /**
+         * Little-endian buffer of an entire .toc file
+         */
+        private final ByteBuffer buffer;
+        /**
+         * Number of complete records in {@link #buffer}
+         */
+        private final int records;
+        /**
+         * Decoded ranges, indexed by range
+         */
+        private final Builder[] ranges;
+        /**
+         * First range to decode (inclusive)
+         */
+        private final int from;
+        /**
+         * Last range to decode (exclusive)
+         */
+        private final int to;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int range = from; range < to; range++) {
+                    int start = range * RANGE_RECORDS;
+                    int end = Math.min(records, start + RANGE_RECORDS);
+
+                    Builder builder = new Builder(end - start, false);
+                    for (int record = start; record < end; record++) {
+                        TocStreamReader.addRecord(builder, buffer, TocStreamReader.HEADER_SIZE + record * TocStreamReader.RECORD_SIZE);
+                    }
+                    ranges[range] = builder;
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new RangeTask(buffer, records, ranges, from, middle),
+                        new RangeTask(buffer, records, ranges, middle, to)
+                );
+            }
+        }
+    }
+
+    /**
+     * Accumulates .toc records into growable arrays.
+     */
+    static final class Builder {
+        /**
+         * Whether the builder starts at the first record, and thus implicitly declares the root directory; otherwise,
+         * the builder holds a range of records that is later passed to {@link #concat(Builder[])}.
+         */
+        private final boolean rooted;
+        /**
+         * Minimum number of directories that must be declared before the first record of an unrooted builder, such
+         * that all parent directory references are valid.
+         */
+        private int requiredDirectories;
+        /**
+         * The parent directory reference that determined {@link #requiredDirectories}
+         */
+        private int requiredParent;
+
+        private int size;
+        private long[] offsets;
+        private long[] timestamps;
+        private int[] compressedSizes;
+        private int[] uncompressedSizes;
+        private int[] parents;
+        private int[] nameOffsets;
+        private byte[] names;
+
+        private int directoryCount;
+        private int[] directoryParents = new int[64];
+        private int[] directoryNameOffsets = new int[65];
+        private byte[] directoryNames = new byte[64 * 16];
+
+        /**
+         * @param capacity expected number of file entries
+         */
+        Builder(int capacity) {
+            this(capacity, true);
+        }
+
+        /**
+         * @param capacity expected number of file entries
+         * @param rooted   whether the builder starts at the first record
+         */
+        Builder(int capacity, boolean rooted) {
+            this.rooted = rooted;
+            this.directoryCount = rooted ? 1 : 0;
+            capacity = Math.max(16, capacity);
+            this.offsets = new long[capacity];
+            this.timestamps = new long[capacity];
+            this.compressedSizes = new int[capacity];
+            this.uncompressedSizes = new int[capacity];
+            this.parents = new int[capacity];
+            this.nameOffsets = new int[capacity + 1];
+            this.names = new byte[capacity * 16];
+        }
+
+        /**
+         * Adds a file entry.
+         *
+         * @param offset           .cache byte offset
+         * @param timestamp        UNIX timestamp
+         * @param compressedSize   compressed byte size
+         * @param uncompressedSize uncompressed byte size
+         * @param parent           parent directory index
+         * @param name             buffer containing the entry name
+         * @param nameOffset       absolute index of the name in the buffer
+         * @param nameLength       byte length of the name
+         * @throws IndexOutOfBoundsException if the parent directory has not been declared
+         */
+        void addEntry(long offset, long timestamp, int compressedSize, int uncompressedSize, int parent, ByteBuffer name, int nameOffset, int nameLength) {
+            this.checkParent(parent);
+            if (offsets.length <= size) {
+                int capacity = offsets.length * 2;
+                offsets = Arrays.copyOf(offsets, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                compressedSizes = Arrays.copyOf(compressedSizes, capacity);
+                uncompressedSizes = Arrays.copyOf(uncompressedSizes, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+            }
+            offsets[size] = offset;
+            timestamps[size] = timestamp;
+            compressedSizes[size] = compressedSize;
+            uncompressedSizes[size] = uncompressedSize;
+            parents[size] = parent;
+            names = appendName(names, nameOffsets[size], name, nameOffset, nameLength);
+            nameOffsets[size + 1] = nameOffsets[size] + nameLength;
+            size++;
+        }
+
+        /**
+         * Declares a directory.
+         *
+         * @param parent     parent directory index
+         * @param name       buffer containing the directory name
+         * @param nameOffset absolute index of the name in the buffer
+         * @param nameLength byte length of the name
+         * @throws IndexOutOfBoundsException if the parent directory has not been declared
+         */
+        void addDirectory(int parent, ByteBuffer name, int nameOffset, int nameLength) {
+            this.checkParent(parent);
+            if (directoryParents.length <= directoryCount) {
+                directoryParents = Arrays.copyOf(directoryParents, directoryParents.length * 2);
+                directoryNameOffsets = Arrays.copyOf(directoryNameOffsets, directoryParents.length + 1);
+            }
+            directoryParents[directoryCount] = parent;
+            directoryNames = appendName(directoryNames, directoryNameOffsets[directoryCount], name, nameOffset, nameLength);
+            directoryNameOffsets[directoryCount + 1] = directoryNameOffsets[directoryCount] + nameLength;
+            directoryCount++;
+        }
+
+        /**
+         * @return an immutable {@link TocTree} of all added records
+         */
+        TocTree build() {
+            return new TocTree(this);
+        }
+
+        /**
+         * Concatenates consecutive unrooted ranges of records into a single rooted builder.
+         *
+         * @param ranges unrooted builders, in record order
+         * @return a rooted builder of all records
+         * @throws IndexOutOfBoundsException if a range references an undeclared parent directory
+         */
+        static Builder concat(Builder[] ranges) {
+            int size = 0;
+            int nameLength = 0;
+            int directoryCount = 1;
+            int directoryNameLength = 0;
+            for (Builder range : ranges) {
+                if (directoryCount < range.requiredDirectories) {
+                    throw new IndexOutOfBoundsException("undeclared parent directory index: " + range.requiredParent);
+                }
+                size += range.size;
+                nameLength += range.nameOffsets[range.size];
+                directoryCount += range.directoryCount;
+                directoryNameLength += range.directoryNameOffsets[range.directoryCount];
+            }
+
+            Builder builder = new Builder(0);
+            builder.offsets = new long[size];
+            builder.timestamps = new long[size];
+            builder.compressedSizes = new int[size];
+            builder.uncompressedSizes = new int[size];
+            builder.parents = new int[size];
+            builder.nameOffsets = new int[size + 1];
+            builder.names = new byte[nameLength];
+            builder.directoryParents = new int[directoryCount];
+            builder.directoryNameOffsets = new int[directoryCount + 1];
+            builder.directoryNames = new byte[directoryNameLength];
+
+            for (Builder range : ranges) {
+                int count = range.size;
+                int base = builder.size;
+                System.arraycopy(range.offsets, 0, builder.offsets, base, count);
+                System.arraycopy(range.timestamps, 0, builder.timestamps, base, count);
+                System.arraycopy(range.compressedSizes, 0, builder.compressedSizes, base, count);
+                System.arraycopy(range.uncompressedSizes, 0, builder.uncompressedSizes, base, count);
+                System.arraycopy(range.parents, 0, builder.parents, base, count);
+                int nameBase = builder.nameOffsets[base];
+                System.arraycopy(range.names, 0, builder.names, nameBase, range.nameOffsets[count]);
+                for (int i = 1; i <= count; i++) {
+                    builder.nameOffsets[base + i] = nameBase + range.nameOffsets[i];
+                }
+                builder.size += count;
+
+                count = range.directoryCount;
+                base = builder.directoryCount;
+                System.arraycopy(range.directoryParents, 0, builder.directoryParents, base, count);
+                nameBase = builder.directoryNameOffsets[base];
+                System.arraycopy(range.directoryNames, 0, builder.directoryNames, nameBase, range.directoryNameOffsets[count]);
+                for (int i = 1; i <= count; i++) {
+                    builder.directoryNameOffsets[base + i] = nameBase + range.directoryNameOffsets[i];
+                }
+                builder.directoryCount += count;
+            }
+            return builder;
+        }
+
+        private void checkParent(int parent) {
+            if (parent < 0 || (rooted && directoryCount <= parent)) {
+                throw new IndexOutOfBoundsException("undeclared parent directory index: " + parent);
+            }
+            if (requiredDirectories < parent - directoryCount + 1) {
+                // resolved once the number of preceding directories is known
+                requiredDirectories = parent - directoryCount + 1;
+                requiredParent = parent;
+            }
+        }
+
+        private static byte[] appendName(byte[] pool, int poolLength, ByteBuffer name, int nameOffset, int nameLength) {
+            if (pool.length < poolLength + nameLength) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolLength + nameLength));
+            }
+            if (name.hasArray()) {
+                System.arraycopy(name.array(), name.arrayOffset() + nameOffset, pool, poolLength, nameLength);
+            } else {
+                ByteBuffer source = name.duplicate();
+                source.position(nameOffset);
+                source.get(pool, poolLength, nameLength);
+            }
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package me.concision.unnamed.unpacker.api;
+
+import lombok.NonNull;
+import me.concision.unnamed.unpacker.api.PackageParser.PackageEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An immutable in-memory index of parsed {@link PackageEntry}s, stored as a compressed trie keyed by path segment (e.g.
+ * {@code "/Lotus/Weapons/Tenno/Pistol"} is keyed by {@code "Lotus"}, {@code "Weapons"}, {@code "Tenno"},
+ * {@code "Pistol"}). Chains of directories containing only a single subdirectory are collapsed into a single node.
+ * <p>
+ * Exact, prefix, subtree, and glob queries only walk the branches of the trie that can match, rather than testing every
+ * indexed path. Glob patterns are matched per path segment:
+ * <ul>
+ *     <li>{@code *} matches any number of characters within a single segment</li>
+ *     <li>{@code ?} matches a single character within a single segment</li>
+ *     <li>{@code **}, as an entire segment, matches zero or more segments</li>
+ * </ul>
+ * Paths are matched case-sensitively. If multiple entries declare the same absolute path, only the first is indexed.
+ * <p>
+ * Note: Instances are immutable and may be safely shared between threads.
+ *
+ * @author Concision
+ */
+public final class PackageIndex {
+    /**
+     * Path segment separator
+     */
+    private static final char SEPARATOR = '/';
+    /**
+     * Glob segment matching zero or more segments
+     */
+    private static final String ANY_SEGMENTS = "**";
+
+    /**
+     * Root node; has no labels
+     */
+    private final Node root;
+    /**
+     * Number of indexed entries
+     */
+    private final int size;
+    /**
+     * Number of trie positions; each node has one position before each of its labels and one after its last label
+     */
+    private final int positions;
+
+    private PackageIndex(Node root, int size, int positions) {
+        this.root = root;
+        this.size = size;
+        this.positions = positions;
+    }
+
+    /**
+     * Indexes package entries.
+     *
+     * @param entries {@link PackageEntry}s to index, in order of declaration
+     * @return an index of the entries
+     */
+    public static PackageIndex of(@NonNull Iterable<PackageEntry> entries) {
+        MutableNode root = new MutableNode();
+        int size = 0;
+        for (PackageEntry entry : entries) {
+            MutableNode node = root;
+            for (String segment : segments(entry.absolutePath())) {
+                node = node.children.computeIfAbsent(segment, key -> new MutableNode());
+            }
+            if (node.entry == null) {
+                node.entry = entry;
+                size++;
+            }
+        }
+
+        int[] positions = {1};
+        return new PackageIndex(new Node(new String[0], null, compress(root, positions), 0), size, positions[0]);
+    }
+
+    /**
+     * Collapses the children of a mutable node into immutable nodes, merging chains of single-child directories.
+     *
+     * @param node      a mutable node
+     * @param positions running count of trie positions
+     * @return immutable children, sorted by first label
+     */
+    private static Node[] compress(MutableNode node, int[] positions) {
+        Node[] children = new Node[node.children.size()];
+        int index = 0;
+        for (Map.Entry<String, MutableNode> child : node.children.entrySet()) {
+            List<String> labels = new ArrayList<>();
+            labels.add(child.getKey());
+            MutableNode tail = child.getValue();
+            while (tail.entry == null && tail.children.size() == 1) {
+                Map.Entry<String, MutableNode> only = tail.children.firstEntry();
+                labels.add(only.getKey());
+                tail = only.getValue();
+            }
+
+            int position = positions[0];
+            positions[0] += labels.size() + 1;
+            children[index++] = new Node(labels.toArray(new String[0]), tail.entry, compress(tail, positions), position);
+        }
+        return children;
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     *
+     * @return entry count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks up an entry by its absolute path.
+     *
+     * @param path an absolute package path (e.g. {@code "/Lotus/Weapons/Tenno/Pistol"})
+     * @return an {@link Optional<PackageEntry>} of the entry
+     */
+    public Optional<PackageEntry> get(@NonNull String path) {
+        Cursor cursor = walk(segments(path));
+        return Optional.ofNullable(cursor != null ? cursor.entry() : null);
+    }
+
+    /**
+     * Finds all entries below a directory.
+     *
+     * @param directory an absolute directory path, with or without a trailing separator (e.g. {@code "/Lotus/Weapons/"})
+     * @return a {@link List<PackageEntry>} of all entries below the directory, ordered by path segment
+     */
+    public List<PackageEntry> subtree(@NonNull String directory) {
+        List<PackageEntry> entries = new ArrayList<>();
+        String trimmed = directory.endsWith("/") ? directory.substring(0, directory.length() - 1) : directory;
+        Cursor cursor = trimmed.isEmpty() ? new Cursor(root, 0) : walk(segments(trimmed));
+        if (cursor != null) {
+            for (Cursor next : cursor.next()) {
+                collect(next, entries);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Finds all entries with an absolute path starting with a prefix; the prefix may end in the middle of a segment.
+     *
+     * @param prefix an absolute path prefix (e.g. {@code "/Lotus/Weapons/Tenno/Pis"})
+     * @return a {@link List<PackageEntry>} of all matching entries, ordered by path segment
+     */
+    public List<PackageEntry> prefix(@NonNull String prefix) {
+        List<PackageEntry> entries = new ArrayList<>();
+        int separator = prefix.lastIndexOf(SEPARATOR);
+        String partial = prefix.substring(separator + 1);
+
+        Cursor cursor = separator <= 0 ? new Cursor(root, 0) : walk(segments(prefix.substring(0, separator)));
+        if (cursor != null) {
+            for (Cursor next : cursor.next()) {
+                if (next.previousLabel().startsWith(partial)) {
+                    collect(next, entries);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Finds all entries with an absolute path matching a glob pattern.
+     *
+     * @param pattern an absolute glob pattern (e.g. {@code "/Lotus/Weapons/**"})
+     * @return a {@link List<PackageEntry>} of all matching entries
+     */
+    public List<PackageEntry> glob(@NonNull String pattern) {
+        String[] segments = segments(pattern);
+
+        // collapse consecutive segment wildcards
+        List<String> collapsed = new ArrayList<>(segments.length);
+        for (String segment : segments) {
+            if (!(segment.equals(ANY_SEGMENTS) && !collapsed.isEmpty() && collapsed.get(collapsed.size() - 1).equals(ANY_SEGMENTS))) {
+                collapsed.add(segment);
+            }
+        }
+        String[] compiled = collapsed.toArray(new String[0]);
+
+        List<PackageEntry> entries = new ArrayList<>();
+        // a segment wildcard allows a position to be reached more than once
+        Set<Long> visited = collapsed.contains(ANY_SEGMENTS) ? new HashSet<>() : null;
+        glob(new Cursor(root, 0), compiled, 0, visited, entries);
+        return entries;
+    }
+
+    /**
+     * Recursively matches glob segments against the trie.
+     *
+     * @param cursor   current trie position
+     * @param segments glob segments
+     * @param segment  index of the next glob segment to match
+     * @param visited  visited (position, segment) states, or {@code null} if states cannot be revisited
+     * @param entries  matched entries
+     */
+    private void glob(Cursor cursor, String[] segments, int segment, Set<Long> visited, List<PackageEntry> entries) {
+        if (visited != null && !visited.add((long) segment * positions + cursor.position())) {
+            return;
+        }
+
+        if (segment == segments.length) {
+            PackageEntry entry = cursor.entry();
+            if (entry != null) {
+                entries.add(entry);
+            }
+            return;
+        }
+
+        String pattern = segments[segment];
+        if (pattern.equals(ANY_SEGMENTS)) {
+            // match zero segments
+            glob(cursor, segments, segment + 1, visited, entries);
+            // match one more segment
+            for (Cursor next : cursor.next()) {
+                glob(next, segments, segment, visited, entries);
+            }
+        } else if (isLiteral(pattern)) {
+            Cursor next = cursor.next(pattern);
+            if (next != null) {
+                glob(next, segments, segment + 1, visited, entries);
+            }
+        } else {
+            for (Cursor next : cursor.next()) {
+                if (matches(pattern, next.previousLabel())) {
+                    glob(next, segments, segment + 1, visited, entries);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the entry at a trie position and all entries below it.
+     *
+     * @param cursor  a trie position
+     * @param entries collected entries
+     */
+    private static void collect(Cursor cursor, List<PackageEntry> entries) {
+        PackageEntry entry = cursor.entry();
+        if (entry != null) {
+            entries.add(entry);
+        }
+        for (Cursor next : cursor.next()) {
+            collect(next, entries);
+        }
+    }
+
+    /**
+     * Walks the trie along exact path segments.
+     *
+     * @param segments path segments
+     * @return the reached trie position, or {@code null} if the path does not exist
+     */
+    private Cursor walk(String[] segments) {
+        Cursor cursor = new Cursor(root, 0);
+        for (int i = 0; i < segments.length && cursor != null; i++) {
+            cursor = cursor.next(segments[i]);
+        }
+        return cursor;
+    }
+
+    /**
+     * Splits an absolute path into its segments, ignoring a leading separator.
+     *
+     * @param path an absolute path
+     * @return path segments
+     */
+    private static String[] segments(String path) {
+        int start = !path.isEmpty() && path.charAt(0) == SEPARATOR ? 1 : 0;
+        List<String> segments = new ArrayList<>();
+        for (int end; (end = path.indexOf(SEPARATOR, start)) >= 0; start = end + 1) {
+            segments.add(path.substring(start, end));
+        }
+        segments.add(path.substring(start));
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * Determines whether a glob segment contains no wildcards.
+     *
+     * @param pattern a glob segment
+     * @return {@code true} if the segment only matches itself
+     */
+    private static boolean isLiteral(String pattern) {
+        return pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0;
+    }
+
+    /**
+     * Matches a single path segment against a glob segment containing {@code *} and {@code ?} wildcards.
+     *
+     * @param pattern a glob segment
+     * @param text    a path segment
+     * @return {@code true} if the segment matches
+     */
+    private static boolean matches(String pattern, String text) {
+        int p = 0, t = 0;
+        // backtracking point of the last '*'
+        int star = -1, starText = 0;
+        while (t < text.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == text.charAt(t))) {
+                p++;
+                t++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                starText = t;
+            } else if (0 <= star) {
+                p = star + 1;
+                t = ++starText;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * An immutable trie node of one or more path segments
+     */
+    private static final class Node {
+        /**
+         * Path segments of this node; more than one if single-child directories were collapsed
+         */
+        private final String[] labels;
+        /**
+         * Entry with a path ending at the last label, or {@code null}
+         */
+        private final PackageEntry entry;
+        /**
+         * Child nodes, sorted by first label
+         */
+        private final Node[] children;
+        /**
+         * First trie position of this node
+         */
+        private final int position;
+
+        Node(String[] labels, PackageEntry entry, Node[] children, int position) {
+            this.labels = labels;
+            this.entry = entry;
+            this.children = children;
+            this.position = position;
+        }
+
+        /**
+         * Finds a child by its first label.
+         *
+         * @param label a path segment
+         * @return the child, or {@code null} if none exists
+         */
+        Node child(String label) {
+            int low = 0, high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int comparison = children[middle].labels[0].compareTo(label);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (0 < comparison) {
+                    high = middle - 1;
+                } else {
+                    return children[middle];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A position in the trie, after a number of labels of a node have been matched
+     */
+    private static final class Cursor {
+        /**
+         * Current node
+         */
+        private final Node node;
+        /**
+         * Number of matched labels of {@link #node}
+         */
+        private final int label;
+
+        Cursor(Node node, int label) {
+            this.node = node;
+            this.label = label;
+        }
+
+        /**
+         * Returns a unique identifier of this position.
+         *
+         * @return position identifier
+         */
+        int position() {
+            return node.position + label;
+        }
+
+        /**
+         * Returns the last matched path segment.
+         *
+         * @return a path segment
+         */
+        String previousLabel() {
+            return node.labels[label - 1];
+        }
+
+        /**
+         * Returns the entry with a path ending at this position.
+         *
+         * @return an entry, or {@code null} if none exists
+         */
+        PackageEntry entry() {
+            return label == node.labels.length ? node.entry : null;
+        }
+
+        /**
+         * Returns all positions reachable by matching one more path segment.
+         *
+         * @return next positions, ordered by path segment
+         */
+        List<Cursor> next() {
+            if (label < node.labels.length) {
+                return Collections.singletonList(new Cursor(node, label + 1));
+            }
+            Cursor[] next = new Cursor[node.children.length];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = new Cursor(node.children[i], 1);
+            }
+            return Arrays.asList(next);
+        }
+
+        /**
+         * Returns the position reached by matching an exact path segment.
+         *
+         * @param segment a path segment
+         * @return the next position, or {@code null} if no such path exists
+         */
+        Cursor next(String segment) {
+            if (label < node.labels.length) {
+                return node.labels[label].equals(segment) ? new Cursor(node, label + 1) : null;
+            }
+            Node child = node.child(segment);
+            return child != null ? new Cursor(child, 1) : null;
+        }
+    }
+
+    /**
+     * A mutable trie node used while indexing
+     */
+    private static final class MutableNode {
+        /**
+         * Children by path segment
+         */
+        private final TreeMap<String, MutableNode> children = new TreeMap<>();
+        /**
+         * First declared entry with a path ending at this node
+         */
+        private PackageEntry entry;
+    }
+}
@@ -0,0 +1,334 @@
+package me.concision.unnamed.unpacker.api;
+
+import lombok.NonNull;
+import me.concision.unnamed.unpacker.api.PackageParser.Header;
+import me.concision.unnamed.unpacker.api.PackageParser.PackageEntry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A persistent sidecar index of a decompressed "Packages.bin" file, mapping each absolute package path to the byte range
+ * of its contents. Once written, a Packages.bin file can be reopened through its index and packages looked up by path
+ * in O(log n) without rescanning the file; only the contents of looked up packages are read.
+ * <p>
+ * The 16 byte hash at the start of Packages.bin is stored in the index and serves as its validity key; an index is stale
+ * once the hash of its Packages.bin file no longer matches.
+ * <p>
+ * Note: Instances hold an open handle to the Packages.bin file, and must be closed. Lookups may be safely performed
+ * concurrently.
+ *
+ * @author Concision
+ */
+public final class PackageIndexFile implements Closeable {
+    /**
+     * Index file magic header ("PKIX")
+     */
+    private static final int MAGIC = 0x504B4958;
+    /**
+     * Index file format version
+     */
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * Size of the index file header preceding the entries
+     */
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Header.HASH_SIZE + Integer.BYTES + Integer.BYTES;
+    /**
+     * Minimum size of a single index entry; two empty modified UTF-8 strings, an offset, and a length
+     */
+    private static final int MIN_ENTRY_SIZE = Short.BYTES + Short.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * Packages.bin file format version
+     */
+    private final int version;
+    /**
+     * Absolute package paths, sorted
+     */
+    private final String[] paths;
+    /**
+     * Length of the package parent directory path for each entry of {@link #paths}
+     */
+    private final int[] nameOffsets;
+    /**
+     * Absolute offset of package contents in Packages.bin for each entry of {@link #paths}
+     */
+    private final long[] offsets;
+    /**
+     * Byte length of package contents for each entry of {@link #paths}
+     */
+    private final int[] lengths;
+    /**
+     * Packages.bin file channel
+     */
+    private final FileChannel channel;
+
+    private PackageIndexFile(int version, String[] paths, int[] nameOffsets, long[] offsets, int[] lengths, FileChannel channel) {
+        this.version = version;
+        this.paths = paths;
+        this.nameOffsets = nameOffsets;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a Packages.bin file through its sidecar index. If the index does not exist or is stale, Packages.bin is
+     * scanned once and the index is (re)written.
+     *
+     * @param packagesBin a decompressed Packages.bin file
+     * @param index       the sidecar index file of {@code packagesBin}
+     * @return an opened {@link PackageIndexFile}
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public static PackageIndexFile open(@NonNull File packagesBin, @NonNull File index) throws IOException {
+        byte[] hash = readHash(packagesBin);
+
+        PackageIndexFile indexFile = index.isFile() ? read(packagesBin, index, hash) : null;
+        if (indexFile == null) {
+            write(packagesBin, index);
+            indexFile = read(packagesBin, index, hash);
+            if (indexFile == null) {
+                throw new IOException("Packages.bin changed while writing index: " + index.getAbsolutePath());
+            }
+        }
+        return indexFile;
+    }
+
+    /**
+     * Scans a Packages.bin file and writes its sidecar index. If multiple packages declare the same absolute path, only
+     * the first declared package is indexed. The index is written to a temporary file and atomically moved into place,
+     * so concurrent readers never observe a partially written index.
+     *
+     * @param packagesBin a decompressed Packages.bin file
+     * @param index       destination sidecar index file
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public static void write(@NonNull File packagesBin, @NonNull File index) throws IOException {
+        Header header;
+        List<PackageEntry> entries = new ArrayList<>();
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(packagesBin)))) {
+            header = PackageParser.readHeader(stream);
+            PackageParser.readPackages(stream, PathMatcher.any(), entries::add, null);
+        }
+        // chunk pool follows the header and its total size
+        long chunkPoolOffset = header.size() + Integer.BYTES;
+
+        // stable sort retains declaration order of duplicate paths
+        entries.sort(Comparator.comparing(PackageEntry::absolutePath));
+
+        File directory = index.getAbsoluteFile().getParentFile();
+        Path temporary = Files.createTempFile(directory.toPath(), "." + index.getName() + ".", ".tmp");
+        try {
+            writeEntries(temporary.toFile(), header, entries, chunkPoolOffset);
+            Files.move(temporary, index.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Writes sorted package entries to an index file.
+     *
+     * @param index           destination index file
+     * @param header          the {@link Header} of the indexed Packages.bin
+     * @param entries         package entries, sorted by absolute path
+     * @param chunkPoolOffset absolute offset of the chunk pool in Packages.bin
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private static void writeEntries(File index, Header header, List<PackageEntry> entries, long chunkPoolOffset) throws IOException {
+        try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(index)))) {
+            stream.writeInt(MAGIC);
+            stream.writeInt(FORMAT_VERSION);
+            stream.write(header.hash());
+            stream.writeInt(header.version());
+
+            int count = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                if (i == 0 || !entries.get(i - 1).absolutePath().equals(entries.get(i).absolutePath())) {
+                    count++;
+                }
+            }
+            stream.writeInt(count);
+
+            for (int i = 0; i < entries.size(); i++) {
+                PackageEntry entry = entries.get(i);
+                if (0 < i && entries.get(i - 1).absolutePath().equals(entry.absolutePath())) {
+                    continue;
+                }
+                stream.writeUTF(entry.path());
+                stream.writeUTF(entry.name());
+                stream.writeLong(chunkPoolOffset + entry.contentsOffset());
+                stream.writeInt(entry.contentsLength());
+            }
+        }
+    }
+
+    /**
+     * Reads a sidecar index and opens its Packages.bin file.
+     *
+     * @param packagesBin a decompressed Packages.bin file
+     * @param index       the sidecar index file of {@code packagesBin}
+     * @param hash        the current hash of {@code packagesBin}
+     * @return an opened {@link PackageIndexFile}, or {@code null} if the index is stale or malformed
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private static PackageIndexFile read(File packagesBin, File index, byte[] hash) throws IOException {
+        long indexSize = index.length();
+        long packagesBinSize = packagesBin.length();
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(index)))) {
+            if (stream.readInt() != MAGIC || stream.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            byte[] indexedHash = new byte[Header.HASH_SIZE];
+            stream.readFully(indexedHash);
+            if (!Arrays.equals(hash, indexedHash)) {
+                return null;
+            }
+            int version = stream.readInt();
+
+            // bound the entry count by the index size before allocating
+            int count = stream.readInt();
+            if (count < 0 || (indexSize - HEADER_SIZE) / MIN_ENTRY_SIZE < count) {
+                return null;
+            }
+            String[] paths = new String[count];
+            int[] nameOffsets = new int[count];
+            long[] offsets = new long[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                String path = stream.readUTF();
+                paths[i] = path + stream.readUTF();
+                nameOffsets[i] = path.length();
+                offsets[i] = stream.readLong();
+                lengths[i] = stream.readInt();
+                // package contents must lie within Packages.bin
+                if (offsets[i] < 0 || lengths[i] < 0 || packagesBinSize - lengths[i] < offsets[i]) {
+                    return null;
+                }
+            }
+
+            return new PackageIndexFile(version, paths, nameOffsets, offsets, lengths, FileChannel.open(packagesBin.toPath(), StandardOpenOption.READ));
+        } catch (EOFException | UTFDataFormatException exception) {
+            // truncated or malformed index
+            return null;
+        }
+    }
+
+    /**
+     * Reads the hash at the start of a Packages.bin file.
+     *
+     * @param packagesBin a decompressed Packages.bin file
+     * @return 16 byte hash
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private static byte[] readHash(File packagesBin) throws IOException {
+        try (InputStream stream = new FileInputStream(packagesBin)) {
+            byte[] hash = new byte[Header.HASH_SIZE];
+            new DataInputStream(stream).readFully(hash);
+            return hash;
+        }
+    }
+
+    /**
+     * Returns the Packages.bin file format version.
+     *
+     * @return file format version
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of indexed packages.
+     *
+     * @return package count
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * Returns all indexed absolute package paths, sorted.
+     *
+     * @return an unmodifiable {@link List<String>} of absolute package paths
+     */
+    public List<String> paths() {
+        return Collections.unmodifiableList(Arrays.asList(paths));
+    }
+
+    /**
+     * Determines whether a package is indexed.
+     *
+     * @param path an absolute package path (e.g. {@code "/Path/To/Package"})
+     * @return {@code true} if the package exists
+     */
+    public boolean contains(@NonNull String path) {
+        return 0 <= Arrays.binarySearch(paths, path);
+    }
+
+    /**
+     * Looks up a package by its absolute path, reading only its contents from Packages.bin.
+     *
+     * @param path an absolute package path (e.g. {@code "/Path/To/Package"})
+     * @return an {@link Optional<PackageEntry>} of the package
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public Optional<PackageEntry> find(@NonNull String path) throws IOException {
+        int index = Arrays.binarySearch(paths, path);
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        byte[] contents = new byte[lengths[index]];
+        ByteBuffer buffer = ByteBuffer.wrap(contents);
+        for (long position = offsets[index]; buffer.hasRemaining(); ) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("package contents exceed Packages.bin: " + path);
+            }
+        }
+
+        String absolutePath = paths[index];
+        return Optional.of(new PackageEntry(
+                absolutePath.substring(0, nameOffsets[index]),
+                absolutePath.substring(nameOffsets[index]),
+                absolutePath,
+                ByteBuffer.wrap(contents),
+                0,
+                contents.length
+        ));
+    }
+
+    /**
+     * Closes the underlying Packages.bin file.
+     *
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,8 +1,11 @@
 package me.concision.unnamed.unpacker.api;
 
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 import lombok.Value;
 import lombok.experimental.UtilityClass;
 import me.concision.unnamed.decacher.api.CacheDecompressionInputStream;
@@ -10,12 +13,23 @@ import me.concision.unnamed.decacher.api.CacheDecompressionInputStream;
 import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Parses package structures as {@link PackageEntry}s from a raw binary "Packages.bin" file from any compliant
@@ -25,6 +39,28 @@ import java.util.List;
  */
 @UtilityClass
 public class PackageParser {
+    /**
+     * Maximum size of the buffer that skipped bytes are discarded into.
+     */
+    private static final int SKIP_BUFFER_SIZE = 8192;
+    /**
+     * Shared buffer that skipped bytes are discarded into; its contents are never read, so concurrent parses may safely
+     * overwrite it.
+     */
+    private static final byte[] SKIP_BUFFER = new byte[SKIP_BUFFER_SIZE];
+    /**
+     * Size of the chunk pool ranges scanned for NUL terminators by a single task.
+     */
+    private static final int SCAN_RANGE_SIZE = 1 << 20;
+    /**
+     * Number of package entries decoded concurrently before being published in order.
+     */
+    private static final int DECODE_BATCH_SIZE = 4096;
+    /**
+     * Number of package entries decoded sequentially by a single task.
+     */
+    private static final int DECODE_TASK_ENTRIES = 64;
+
     /**
      * Parses package entries as {@link PackageEntry}s from a decompressed {@link InputStream} containing
      * "Packages.bin".
@@ -44,122 +80,763 @@ public class PackageParser {
      * @param inputStream a decompressed Packages.bin {@link InputStream}
      * @return a {@link Deque<PackageEntry>} of all package entries
      * @throws IOException if an underlying I/O exception occurs
+     * @see #parseStream(InputStream, Consumer)
      */
-    @SuppressWarnings("DuplicatedCode")
     public Deque<PackageEntry> parseStream(@NonNull InputStream inputStream) throws IOException {
         // deserialized package entries
         Deque<PackageEntry> entries = new LinkedList<>();
+        parseStream(inputStream, entries::add);
+        return entries;
+    }
+
+    /**
+     * Incrementally parses package entries as {@link PackageEntry}s from a decompressed {@link InputStream} containing
+     * "Packages.bin", passing each entry to a consumer as soon as its path record is read. Only package contents that
+     * have not been passed to the consumer yet are retained.
+     * <p>
+     * Note: {@link InputStream} should be decompressed prior; this can be done by layering the stream through a
+     * {@link CacheDecompressionInputStream} prior.
+     * <p>
+     * Note: The underlying {@link InputStream} should be internally buffered for performance reasons (e.g. single byte
+     * {@link InputStream#read()}s); this can be done by layering the stream through a {@link BufferedInputStream}
+     * prior.
+     * <p>
+     * Note: An invalid format could cause an expected over-consumption of the underlying {@link InputStream}; the
+     * {@param inputStream} should be limited to a certain number of bytes if necessary, before invoking this method.
+     *
+     * @param inputStream a decompressed Packages.bin {@link InputStream}
+     * @param consumer    a consumer of each {@link PackageEntry}, in order of declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parseStream(InputStream, Predicate, Consumer)
+     */
+    public void parseStream(@NonNull InputStream inputStream, @NonNull Consumer<PackageEntry> consumer) throws IOException {
+        parseStream(inputStream, path -> true, consumer);
+    }
+
+    /**
+     * Selectively parses package entries as {@link PackageEntry}s from a decompressed {@link InputStream} containing
+     * "Packages.bin", passing only entries with a matching absolute path to a consumer. As the chunk pool precedes the
+     * path records, parsing is done in two phases: the chunk pool is first read in bulk and only its chunk boundaries
+     * are recorded; each path record is then tested against the filter, and no {@link PackageEntry} is created for
+     * rejected paths. Package contents are only decoded once accessed with {@link PackageEntry#contents()}.
+     * <p>
+     * Note: {@link InputStream} should be decompressed prior; this can be done by layering the stream through a
+     * {@link CacheDecompressionInputStream} prior.
+     * <p>
+     * Note: The underlying {@link InputStream} should be internally buffered for performance reasons (e.g. single byte
+     * {@link InputStream#read()}s); this can be done by layering the stream through a {@link BufferedInputStream}
+     * prior.
+     * <p>
+     * Note: An invalid format could cause an expected over-consumption of the underlying {@link InputStream}; the
+     * {@param inputStream} should be limited to a certain number of bytes if necessary, before invoking this method.
+     *
+     * @param inputStream a decompressed Packages.bin {@link InputStream}
+     * @param filter      a filter of absolute package paths (e.g. {@code "/Path/To/Package"})
+     * @param consumer    a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    public void parseStream(@NonNull InputStream inputStream, @NonNull Predicate<String> filter, @NonNull Consumer<PackageEntry> consumer) throws IOException {
+        parseStream(inputStream, PathMatcher.of(filter), consumer);
+    }
 
+    /**
+     * Selectively parses package entries as {@link PackageEntry}s from a decompressed {@link InputStream} containing
+     * "Packages.bin", matching the raw bytes of each absolute path before any {@link String} is created. Paths and names
+     * are only decoded for matching packages.
+     *
+     * @param inputStream a decompressed Packages.bin {@link InputStream}
+     * @param matcher     a matcher of raw absolute package paths
+     * @param consumer    a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parseStream(InputStream, Predicate, Consumer)
+     */
+    public void parseStream(@NonNull InputStream inputStream, @NonNull PathMatcher matcher, @NonNull Consumer<PackageEntry> consumer) throws IOException {
         // wrap with a DataInputStream for ease of reading
         try (DataInputStream stream = new DataInputStream(inputStream)) {
-            // 16 byte/128 bit hash
-            skipNBytes(stream, 16);
-            // magic header (0x14 or 20)
-            skipNBytes(stream, 1);
+            // skip header structures
+            readHeader(stream);
+
+            // parse package entries
+            readPackages(stream, matcher, consumer, null);
+        }
+    }
+
+    /**
+     * Selectively parses package entries as {@link PackageEntry}s from a decompressed {@link InputStream} containing
+     * "Packages.bin", decoding the chunk pool on multiple threads. The chunk pool is read in bulk, its NUL terminators
+     * are located by scanning ranges of the pool concurrently, and the contents of matching packages are decoded
+     * concurrently in batches. Entries are still passed to the consumer in order of declaration, on the calling thread,
+     * with their contents already decoded.
+     *
+     * @param inputStream  a decompressed Packages.bin {@link InputStream}
+     * @param filter       a filter of absolute package paths (e.g. {@code "/Path/To/Package"})
+     * @param consumer     a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @param forkJoinPool a {@link ForkJoinPool} to scan and decode the chunk pool on
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parseStream(InputStream, Predicate, Consumer)
+     */
+    public void parseStream(@NonNull InputStream inputStream, @NonNull Predicate<String> filter, @NonNull Consumer<PackageEntry> consumer, @NonNull ForkJoinPool forkJoinPool) throws IOException {
+        parseStream(inputStream, PathMatcher.of(filter), consumer, forkJoinPool);
+    }
 
-            // read file format version
-            int version = stream.readInt();
+    /**
+     * Selectively parses package entries as {@link PackageEntry}s from a decompressed {@link InputStream} containing
+     * "Packages.bin", decoding the chunk pool on multiple threads and matching the raw bytes of each absolute path
+     * before any {@link String} is created.
+     *
+     * @param inputStream  a decompressed Packages.bin {@link InputStream}
+     * @param matcher      a matcher of raw absolute package paths
+     * @param consumer     a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @param forkJoinPool a {@link ForkJoinPool} to scan and decode the chunk pool on
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parseStream(InputStream, Predicate, Consumer, ForkJoinPool)
+     */
+    public void parseStream(@NonNull InputStream inputStream, @NonNull PathMatcher matcher, @NonNull Consumer<PackageEntry> consumer, @NonNull ForkJoinPool forkJoinPool) throws IOException {
+        try (DataInputStream stream = new DataInputStream(inputStream)) {
+            // skip header structures
+            readHeader(stream);
 
-            // skip unknown bytes
-            skipNBytes(stream, version <= 29 ? 8 : 7);
+            // parse package entries, decoding contents in batches
+            ParallelDecoder decoder = new ParallelDecoder(forkJoinPool, consumer);
+            readPackages(stream, matcher, decoder, forkJoinPool);
+            decoder.flush();
+        }
+    }
 
-            // determine length of an unknown flag
-            int unknownLength;
-            if (29 <= version) {
-                unknownLength = 1;
-            } else {
-                unknownLength = 4;
+    /**
+     * Parses the chunk pool and path records following the header structures of "Packages.bin".
+     *
+     * @param stream       a decompressed Packages.bin {@link DataInputStream}, positioned at the total chunk pool size
+     * @param matcher      a matcher of raw absolute package paths
+     * @param consumer     a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @param forkJoinPool a {@link ForkJoinPool} to scan the chunk pool on, or {@code null} to scan sequentially
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    @SuppressWarnings("DuplicatedCode")
+    void readPackages(@NonNull DataInputStream stream, @NonNull PathMatcher matcher, @NonNull Consumer<PackageEntry> consumer, ForkJoinPool forkJoinPool) throws IOException {
+        // total length of all chunks, including the NUL-terminating bytes for strings
+        int totalChunkSize = Integer.reverseBytes(stream.readInt());
+
+        // entry contents chunk pool; this is the raw LUA table contents of packages, without an assigned path
+        byte[] poolBytes = new byte[totalChunkSize];
+        stream.readFully(poolBytes);
+        ByteBuffer pool = ByteBuffer.wrap(poolBytes);
+
+        // locate all null-terminated string chunks
+        int[] chunkOffsets = locateChunks(pool, 0, totalChunkSize, forkJoinPool);
+
+        // read expected chunk count
+        int expectedChunks = Integer.reverseBytes(stream.readInt());
+        // sanity check
+        checkChunkCount(expectedChunks, chunkOffsets.length - 1);
+
+
+        // raw absolute path buffer; resized on demand, if necessary
+        byte[] buffer = new byte[512];
+        // shared package directory paths
+        PathDictionary directories = new PathDictionary();
+
+        // assign path/names to chunks
+        for (int i = 0; i < expectedChunks; i++) {
+
+            // read absolute package directory path
+            int pathLength = Integer.reverseBytes(stream.readInt());
+            if (buffer.length < pathLength) buffer = new byte[pathLength];
+            stream.readFully(buffer, 0, pathLength);
+
+            // read package name, directly following the directory path
+            int nameLength = Integer.reverseBytes(stream.readInt());
+            if (buffer.length < pathLength + nameLength) buffer = Arrays.copyOf(buffer, pathLength + nameLength);
+            stream.readFully(buffer, pathLength, nameLength);
+
+            // unknown bytes
+            skipNBytes(stream, 5);
+
+            // "base package"; no idea what it is, not really useful (e.g. @\n, @\b, A\n, B\n, etc).
+            {
+                int length = Integer.reverseBytes(stream.readInt());
+                // string
+                skipNBytes(stream, length);
             }
 
-            // read various header structures
-            int structureCount = Integer.reverseBytes(stream.readInt());
-            for (int i = 0; i < structureCount; i++) {
-                // string length
-                int stringLength = Integer.reverseBytes(stream.readInt());
-                // string is also terminated by NUL
-                skipNBytes(stream, stringLength);
+            // unknown bytes
+            skipNBytes(stream, 4);
 
-                // unknown integer
-                skipNBytes(stream, unknownLength);
+            // publish matching package entry
+            PackageEntry entry = matchEntry(matcher, directories, buffer, pathLength, nameLength, pool, chunkOffsets[i], chunkOffsets[i + 1] - chunkOffsets[i] - 1);
+            if (entry != null) {
+                consumer.accept(entry);
             }
+        }
+    }
 
+    /**
+     * Parses package entries as {@link PackageEntry}s from a decompressed "Packages.bin" file by memory-mapping it.
+     *
+     * @param file     a decompressed Packages.bin file
+     * @param filter   a filter of absolute package paths (e.g. {@code "/Path/To/Package"})
+     * @param consumer a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parseBuffer(ByteBuffer, Predicate, Consumer)
+     */
+    public void parseFile(@NonNull File file, @NonNull Predicate<String> filter, @NonNull Consumer<PackageEntry> consumer) throws IOException {
+        parseFile(file, PathMatcher.of(filter), consumer);
+    }
 
-            // total length of all chunks, including the NUL-terminating bytes for strings
-            int totalChunkSize = Integer.reverseBytes(stream.readInt());
+    /**
+     * Parses package entries as {@link PackageEntry}s from a decompressed "Packages.bin" file by memory-mapping it,
+     * matching the raw bytes of each absolute path before any {@link String} is created.
+     *
+     * @param file     a decompressed Packages.bin file
+     * @param matcher  a matcher of raw absolute package paths
+     * @param consumer a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parseBuffer(ByteBuffer, PathMatcher, Consumer)
+     */
+    public void parseFile(@NonNull File file, @NonNull PathMatcher matcher, @NonNull Consumer<PackageEntry> consumer) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (Integer.MAX_VALUE < channel.size()) {
+                throw new IOException("Packages.bin exceeds maximum mappable size: " + file.getAbsolutePath());
+            }
+            // mapping remains valid after the channel is closed
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        parseBuffer(buffer, matcher, consumer);
+    }
 
-            // entry contents chunk pool; this is the raw LUA table contents of packages, without an assigned path
-            List<String> chunks = new ArrayList<>();
+    /**
+     * Parses package entries as {@link PackageEntry}s from the remaining bytes of a {@link ByteBuffer} containing a
+     * decompressed "Packages.bin".
+     *
+     * @param buffer   a decompressed Packages.bin {@link ByteBuffer} (e.g. a {@link MappedByteBuffer})
+     * @param consumer a consumer of each {@link PackageEntry}, in order of declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parseBuffer(ByteBuffer, Predicate, Consumer)
+     */
+    public void parseBuffer(@NonNull ByteBuffer buffer, @NonNull Consumer<PackageEntry> consumer) throws IOException {
+        parseBuffer(buffer, path -> true, consumer);
+    }
 
-            // chunk string builder
-            StringBuilder chunkBuilder = new StringBuilder();
-            // read all null-terminated string chunks
-            for (int i = 0; i < totalChunkSize; i++ /* for null terminator */) {
-                // read next null-terminated string
-                for (byte in; (in = stream.readByte()) != 0x00 && i < totalChunkSize; i++ /* for each char read */) {
-                    chunkBuilder.append((char) in);
-                }
-                // add string contents to chunk pool
-                chunks.add(chunkBuilder.toString());
-                // reset string builder
-                chunkBuilder.setLength(0);
+    /**
+     * Selectively parses package entries as {@link PackageEntry}s from the remaining bytes of a {@link ByteBuffer}
+     * containing a decompressed "Packages.bin". Every header, chunk, and path field is read at an absolute position;
+     * the buffer's position is not modified. Package contents are not copied, and entries reference the buffer
+     * directly.
+     *
+     * @param buffer   a decompressed Packages.bin {@link ByteBuffer} (e.g. a {@link MappedByteBuffer})
+     * @param filter   a filter of absolute package paths (e.g. {@code "/Path/To/Package"})
+     * @param consumer a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @throws EOFException if the buffer ends prematurely
+     * @throws IOException  if an underlying I/O exception occurs
+     */
+    public void parseBuffer(@NonNull ByteBuffer buffer, @NonNull Predicate<String> filter, @NonNull Consumer<PackageEntry> consumer) throws IOException {
+        parseBuffer(buffer, PathMatcher.of(filter), consumer);
+    }
+
+    /**
+     * Selectively parses package entries as {@link PackageEntry}s from the remaining bytes of a {@link ByteBuffer}
+     * containing a decompressed "Packages.bin", matching the raw bytes of each absolute path before any {@link String}
+     * is created. Paths and names are only decoded for matching packages.
+     *
+     * @param buffer   a decompressed Packages.bin {@link ByteBuffer} (e.g. a {@link MappedByteBuffer})
+     * @param matcher  a matcher of raw absolute package paths
+     * @param consumer a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @throws EOFException if the buffer ends prematurely
+     * @throws IOException  if an underlying I/O exception occurs
+     * @see #parseBuffer(ByteBuffer, Predicate, Consumer)
+     */
+    public void parseBuffer(@NonNull ByteBuffer buffer, @NonNull PathMatcher matcher, @NonNull Consumer<PackageEntry> consumer) throws IOException {
+        readBuffer(buffer, matcher, consumer, null);
+    }
+
+    /**
+     * Selectively parses package entries as {@link PackageEntry}s from the remaining bytes of a {@link ByteBuffer}
+     * containing a decompressed "Packages.bin", decoding the chunk pool on multiple threads. NUL terminators of the
+     * chunk pool are located by scanning ranges of the pool concurrently, and the contents of matching packages are
+     * decoded concurrently in batches. Entries are still passed to the consumer in order of declaration, on the calling
+     * thread, with their contents already decoded.
+     *
+     * @param buffer       a decompressed Packages.bin {@link ByteBuffer} (e.g. a {@link MappedByteBuffer})
+     * @param filter       a filter of absolute package paths (e.g. {@code "/Path/To/Package"})
+     * @param consumer     a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @param forkJoinPool a {@link ForkJoinPool} to scan and decode the chunk pool on
+     * @throws EOFException if the buffer ends prematurely
+     * @throws IOException  if an underlying I/O exception occurs
+     * @see #parseBuffer(ByteBuffer, Predicate, Consumer)
+     */
+    public void parseBuffer(@NonNull ByteBuffer buffer, @NonNull Predicate<String> filter, @NonNull Consumer<PackageEntry> consumer, @NonNull ForkJoinPool forkJoinPool) throws IOException {
+        parseBuffer(buffer, PathMatcher.of(filter), consumer, forkJoinPool);
+    }
+
+    /**
+     * Selectively parses package entries as {@link PackageEntry}s from the remaining bytes of a {@link ByteBuffer}
+     * containing a decompressed "Packages.bin", decoding the chunk pool on multiple threads and matching the raw bytes
+     * of each absolute path before any {@link String} is created.
+     *
+     * @param buffer       a decompressed Packages.bin {@link ByteBuffer} (e.g. a {@link MappedByteBuffer})
+     * @param matcher      a matcher of raw absolute package paths
+     * @param consumer     a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @param forkJoinPool a {@link ForkJoinPool} to scan and decode the chunk pool on
+     * @throws EOFException if the buffer ends prematurely
+     * @throws IOException  if an underlying I/O exception occurs
+     * @see #parseBuffer(ByteBuffer, Predicate, Consumer, ForkJoinPool)
+     */
+    public void parseBuffer(@NonNull ByteBuffer buffer, @NonNull PathMatcher matcher, @NonNull Consumer<PackageEntry> consumer, @NonNull ForkJoinPool forkJoinPool) throws IOException {
+        ParallelDecoder decoder = new ParallelDecoder(forkJoinPool, consumer);
+        readBuffer(buffer, matcher, decoder, forkJoinPool);
+        decoder.flush();
+    }
+
+    /**
+     * Parses package entries from the remaining bytes of a {@link ByteBuffer}, using absolute reads only.
+     *
+     * @param buffer       a decompressed Packages.bin {@link ByteBuffer}
+     * @param matcher      a matcher of raw absolute package paths
+     * @param consumer     a consumer of each matching {@link PackageEntry}, in order of declaration
+     * @param forkJoinPool a {@link ForkJoinPool} to scan the chunk pool on, or {@code null} to scan sequentially
+     * @throws EOFException if the buffer ends prematurely
+     */
+    @SuppressWarnings("DuplicatedCode")
+    private void readBuffer(ByteBuffer buffer, PathMatcher matcher, Consumer<PackageEntry> consumer, ForkJoinPool forkJoinPool) throws EOFException {
+        // independent little-endian view; positions are relative to the buffer's current position
+        ByteBuffer packages = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+
+        // 16 byte/128 bit hash, magic header (0x14 or 20)
+        int position = Header.HASH_SIZE + 1;
+
+        // read file format version
+        int version = Integer.reverseBytes(readInt(packages, position));
+        // skip unknown bytes
+        position += Integer.BYTES + (version <= 29 ? 8 : 7);
+
+        // determine length of an unknown flag
+        int unknownLength;
+        if (29 <= version) {
+            unknownLength = 1;
+        } else {
+            unknownLength = 4;
+        }
+
+        // skip various header structures
+        int structureCount = readInt(packages, position);
+        position += Integer.BYTES;
+        for (int i = 0; i < structureCount; i++) {
+            int stringLength = readInt(packages, position);
+            position += Integer.BYTES;
+            checkRemaining(packages, position, stringLength);
+            position += stringLength + unknownLength;
+        }
+
+        // total length of all chunks, including the NUL-terminating bytes for strings
+        int totalChunkSize = readInt(packages, position);
+        position += Integer.BYTES;
+        checkRemaining(packages, position, totalChunkSize);
+
+        // locate all null-terminated string chunks
+        int[] chunkOffsets = locateChunks(packages, position, totalChunkSize, forkJoinPool);
+        position += totalChunkSize;
+
+        // read expected chunk count
+        int expectedChunks = readInt(packages, position);
+        position += Integer.BYTES;
+        // sanity check
+        checkChunkCount(expectedChunks, chunkOffsets.length - 1);
+
+        // raw absolute path buffer; resized on demand, if necessary
+        byte[] stringBuffer = new byte[512];
+        // shared package directory paths
+        PathDictionary directories = new PathDictionary();
+
+        // assign path/names to chunks
+        ByteBuffer strings = packages.duplicate();
+        for (int i = 0; i < expectedChunks; i++) {
+            // read absolute package directory path
+            int pathLength = readInt(packages, position);
+            position += Integer.BYTES;
+            checkRemaining(packages, position, pathLength);
+            if (stringBuffer.length < pathLength) stringBuffer = new byte[pathLength];
+            ((ByteBuffer) strings.position(position)).get(stringBuffer, 0, pathLength);
+            position += pathLength;
+
+            // read package name, directly following the directory path
+            int nameLength = readInt(packages, position);
+            position += Integer.BYTES;
+            checkRemaining(packages, position, nameLength);
+            if (stringBuffer.length < pathLength + nameLength) stringBuffer = Arrays.copyOf(stringBuffer, pathLength + nameLength);
+            ((ByteBuffer) strings.position(position)).get(stringBuffer, pathLength, nameLength);
+            position += nameLength;
+
+            // unknown bytes
+            position += 5;
+            // "base package"
+            int basePackageLength = readInt(packages, position);
+            position += Integer.BYTES;
+            checkRemaining(packages, position, basePackageLength);
+            position += basePackageLength;
+            // unknown bytes
+            position += 4;
+
+            // publish matching package entry
+            PackageEntry entry = matchEntry(matcher, directories, stringBuffer, pathLength, nameLength, packages, chunkOffsets[i], chunkOffsets[i + 1] - chunkOffsets[i] - 1);
+            if (entry != null) {
+                consumer.accept(entry);
             }
+        }
+    }
+
+    /**
+     * Matches a raw absolute package path, and creates a {@link PackageEntry} only if it matches.
+     *
+     * @param matcher        a matcher of raw absolute package paths
+     * @param directories    shared package directory paths of the current parse
+     * @param buffer         a buffer containing the raw directory path, directly followed by the raw package name
+     * @param pathLength     byte length of the directory path
+     * @param nameLength     byte length of the package name
+     * @param pool           shared chunk pool
+     * @param contentsOffset offset of the raw package entry LUA table in {@code pool}
+     * @param contentsLength byte length of the raw package entry LUA table
+     * @return a matching {@link PackageEntry}, or {@code null} if the path does not match
+     * @see #matchPath(PathMatcher, PathDictionary, byte[], int, int)
+     */
+    private PackageEntry matchEntry(PathMatcher matcher, PathDictionary directories, byte[] buffer, int pathLength, int nameLength, ByteBuffer pool, int contentsOffset, int contentsLength) {
+        String absolutePath = matchPath(matcher, directories, buffer, pathLength, nameLength);
+        if (absolutePath == null) {
+            return null;
+        }
+        // directory path is already interned
+        String path = directories.intern(buffer, 0, pathLength);
+        return new PackageEntry(path, absolutePath.substring(path.length()), absolutePath, pool, contentsOffset, contentsLength);
+    }
+
+    /**
+     * Matches a raw absolute package path, and builds its {@link String} only if it matches. Raw paths are matched
+     * before any {@link String} is created, unless the matcher {@link PathMatcher#decodesPaths() decodes paths}; such
+     * matchers are instead tested against the built absolute path, decoding each path only once.
+     *
+     * @param matcher     a matcher of raw absolute package paths
+     * @param directories shared package directory paths of the current parse
+     * @param buffer      a buffer containing the raw directory path, directly followed by the raw package name
+     * @param pathLength  byte length of the directory path
+     * @param nameLength  byte length of the package name
+     * @return the matching absolute package path, or {@code null} if the path does not match
+     */
+    private String matchPath(PathMatcher matcher, PathDictionary directories, byte[] buffer, int pathLength, int nameLength) {
+        boolean decodesPaths = matcher.decodesPaths();
+        // match raw absolute path before creating any strings
+        if (!decodesPaths && !matcher.matches(buffer, 0, pathLength + nameLength)) {
+            return null;
+        }
+        String absolutePath = directories.intern(buffer, 0, pathLength) + StringDecoder.decode(buffer, pathLength, nameLength);
+        if (decodesPaths && !matcher.test(absolutePath)) {
+            return null;
+        }
+        return absolutePath;
+    }
+
+    /**
+     * Reads a little-endian integer at an absolute position of a {@link ByteBuffer}.
+     *
+     * @param buffer   a little-endian {@link ByteBuffer}
+     * @param position absolute position of the integer
+     * @return read integer
+     * @throws EOFException if the integer exceeds the buffer's limit
+     */
+    private int readInt(ByteBuffer buffer, int position) throws EOFException {
+        checkRemaining(buffer, position, Integer.BYTES);
+        return buffer.getInt(position);
+    }
+
+    /**
+     * Ensures a byte range at an absolute position lies within a {@link ByteBuffer}.
+     *
+     * @param buffer   a {@link ByteBuffer}
+     * @param position absolute position of the range
+     * @param length   byte length of the range
+     * @throws EOFException if the range exceeds the buffer's limit, or is negative
+     */
+    private void checkRemaining(ByteBuffer buffer, int position, int length) throws EOFException {
+        if (position < 0 || length < 0 || buffer.limit() - position < length) {
+            throw new EOFException("Packages.bin ends prematurely");
+        }
+    }
+
+    /**
+     * Locates all null-terminated string chunks of a chunk pool. Chunk {@code i} spans
+     * {@code [chunkOffsets[i], chunkOffsets[i + 1] - 1)}; a trailing chunk without a null terminator ends at the end of
+     * the pool.
+     *
+     * @param pool   a {@link ByteBuffer} containing the chunk pool
+     * @param offset absolute offset of the chunk pool in {@code pool}
+     * @param size   total length of the chunk pool
+     * @return absolute offsets of each chunk, followed by the end offset of the last chunk
+     */
+    private int[] locateChunks(ByteBuffer pool, int offset, int size) {
+        int end = offset + size;
 
-            // read expected chunk count
-            int expectedChunks = Integer.reverseBytes(stream.readInt());
-            // sanity check
-            if (expectedChunks != chunks.size()) {
-                throw new RuntimeException("chunk count mismatch (expected: " + expectedChunks + ", deserialized: " + chunks.size() + ")");
+        int chunkCount = 0;
+        int[] chunkOffsets = new int[1024];
+        for (int position = offset; position < end; ) {
+            if (chunkOffsets.length <= chunkCount + 1) {
+                chunkOffsets = Arrays.copyOf(chunkOffsets, chunkOffsets.length * 2);
             }
+            chunkOffsets[chunkCount++] = position;
 
+            // skip to after the null terminator
+            while (position < end && pool.get(position++) != 0x00) ;
+        }
+        chunkOffsets[chunkCount] = end + (0 < size && pool.get(end - 1) != 0x00 ? 1 : 0);
+        return Arrays.copyOf(chunkOffsets, chunkCount + 1);
+    }
 
-            // path string building buffer; resized on demand, if necessary
-            byte[] buffer = new byte[512];
+    /**
+     * Locates all null-terminated string chunks of a chunk pool, scanning ranges of the pool concurrently.
+     *
+     * @param pool         a {@link ByteBuffer} containing the chunk pool
+     * @param offset       absolute offset of the chunk pool in {@code pool}
+     * @param size         total length of the chunk pool
+     * @param forkJoinPool a {@link ForkJoinPool} to scan on, or {@code null} to scan sequentially
+     * @return absolute offsets of each chunk, followed by the end offset of the last chunk
+     * @see #locateChunks(ByteBuffer, int, int)
+     */
+    private int[] locateChunks(ByteBuffer pool, int offset, int size, ForkJoinPool forkJoinPool) {
+        if (forkJoinPool == null || size <= SCAN_RANGE_SIZE) {
+            return locateChunks(pool, offset, size);
+        }
+        int end = offset + size;
 
-            // assign path/names to chunks
-            for (int i = 0; i < expectedChunks; i++) {
-                String chunk = chunks.get(i);
+        // locate NUL terminators of each range concurrently
+        int[][] terminators = new int[(size + SCAN_RANGE_SIZE - 1) / SCAN_RANGE_SIZE][];
+        forkJoinPool.invoke(new ScanTask(pool, offset, end, terminators, 0, terminators.length));
 
-                // read absolute package directory path
-                String path;
-                {
-                    int length = Integer.reverseBytes(stream.readInt());
-                    if (buffer.length < length) buffer = new byte[buffer.length];
-                    stream.readFully(buffer, 0, length);
-                    path = new String(buffer, 0, length);
-                }
+        // each chunk after the first starts after a NUL terminator
+        int chunkCount = 1;
+        for (int[] range : terminators) {
+            chunkCount += range.length;
+        }
+        int[] last = terminators[terminators.length - 1];
+        if (0 < last.length && last[last.length - 1] == end - 1) {
+            // no chunk starts after the final terminator
+            chunkCount--;
+        }
 
-                // read package name
-                String name;
-                {
-                    int length = Integer.reverseBytes(stream.readInt());
-                    if (buffer.length < length) buffer = new byte[buffer.length];
-                    stream.readFully(buffer, 0, length);
-                    name = new String(buffer, 0, length);
+        int[] chunkOffsets = new int[chunkCount + 1];
+        chunkOffsets[0] = offset;
+        int chunk = 1;
+        for (int[] range : terminators) {
+            for (int terminator : range) {
+                if (terminator + 1 < end) {
+                    chunkOffsets[chunk++] = terminator + 1;
                 }
+            }
+        }
+        chunkOffsets[chunkCount] = end + (pool.get(end - 1) != 0x00 ? 1 : 0);
+        return chunkOffsets;
+    }
 
-                // unknown bytes
-                skipNBytes(stream, 5);
+    /**
+     * Verifies the number of located chunks matches the declared chunk count.
+     *
+     * @param expectedChunks declared chunk count
+     * @param chunkCount     located chunk count
+     */
+    private void checkChunkCount(int expectedChunks, int chunkCount) {
+        if (expectedChunks != chunkCount) {
+            throw new RuntimeException("chunk count mismatch (expected: " + expectedChunks + ", deserialized: " + chunkCount + ")");
+        }
+    }
 
-                // "base package"; no idea what it is, not really useful (e.g. @\n, @\b, A\n, B\n, etc).
-                {
-                    int length = Integer.reverseBytes(stream.readInt());
-                    // string
-                    skipNBytes(stream, length);
-                }
+    /**
+     * Opens a decompressed "Packages.bin" file through a persistent sidecar index, allowing packages to be looked up by
+     * path without rescanning the file. The index is (re)written if it does not exist or is stale.
+     *
+     * @param packagesBin a decompressed Packages.bin file
+     * @param index       the sidecar index file of {@code packagesBin}
+     * @return an opened {@link PackageIndexFile}
+     * @throws IOException if an underlying I/O exception occurs
+     * @see PackageIndexFile#open(File, File)
+     */
+    public PackageIndexFile open(@NonNull File packagesBin, @NonNull File index) throws IOException {
+        return PackageIndexFile.open(packagesBin, index);
+    }
 
-                // unknown bytes
-                skipNBytes(stream, 4);
+    /**
+     * Parses only the absolute package paths from a decompressed {@link InputStream} containing "Packages.bin". The
+     * chunk pool of package contents is skipped in bulk without being inspected.
+     * <p>
+     * Note: {@link InputStream} should be decompressed prior; this can be done by layering the stream through a
+     * {@link CacheDecompressionInputStream} prior.
+     * <p>
+     * Note: The underlying {@link InputStream} should be internally buffered for performance reasons (e.g. single byte
+     * {@link InputStream#read()}s); this can be done by layering the stream through a {@link BufferedInputStream}
+     * prior.
+     *
+     * @param inputStream a decompressed Packages.bin {@link InputStream}
+     * @param consumer    a consumer of each absolute package path (e.g. {@code "/Path/To/Package"}), in order of
+     *                    declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parsePaths(File, Consumer)
+     */
+    public void parsePaths(@NonNull InputStream inputStream, @NonNull Consumer<String> consumer) throws IOException {
+        parsePaths(inputStream, PathMatcher.any(), consumer);
+    }
 
-                // add to package chunks
-                entries.add(new PackageEntry(
-                        path,
-                        name,
-                        chunk
-                ));
+    /**
+     * Parses only the absolute package paths matching a {@link PathMatcher} from a decompressed {@link InputStream}
+     * containing "Packages.bin". Paths are matched on their raw bytes; only matching paths are decoded.
+     *
+     * @param inputStream a decompressed Packages.bin {@link InputStream}
+     * @param matcher     a matcher of raw absolute package paths
+     * @param consumer    a consumer of each matching absolute package path, in order of declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parsePaths(InputStream, Consumer)
+     */
+    public void parsePaths(@NonNull InputStream inputStream, @NonNull PathMatcher matcher, @NonNull Consumer<String> consumer) throws IOException {
+        try (DataInputStream stream = new DataInputStream(inputStream)) {
+            // skip header structures
+            readHeader(stream);
+
+            // skip chunk pool
+            skipNBytes(stream, Integer.toUnsignedLong(Integer.reverseBytes(stream.readInt())));
+
+            readPaths(stream, matcher, consumer);
+        }
+    }
+
+    /**
+     * Parses only the absolute package paths from a decompressed "Packages.bin" file. The chunk pool of package
+     * contents is skipped with a single seek, and is never read.
+     *
+     * @param file     a decompressed Packages.bin file
+     * @param consumer a consumer of each absolute package path (e.g. {@code "/Path/To/Package"}), in order of
+     *                 declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parsePaths(InputStream, Consumer)
+     */
+    public void parsePaths(@NonNull File file, @NonNull Consumer<String> consumer) throws IOException {
+        parsePaths(file, PathMatcher.any(), consumer);
+    }
+
+    /**
+     * Parses only the absolute package paths matching a {@link PathMatcher} from a decompressed "Packages.bin" file.
+     * Paths are matched on their raw bytes; only matching paths are decoded.
+     *
+     * @param file     a decompressed Packages.bin file
+     * @param matcher  a matcher of raw absolute package paths
+     * @param consumer a consumer of each matching absolute package path, in order of declaration
+     * @throws IOException if an underlying I/O exception occurs
+     * @see #parsePaths(File, Consumer)
+     */
+    public void parsePaths(@NonNull File file, @NonNull PathMatcher matcher, @NonNull Consumer<String> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // read header; the channel position is not exact, as the stream is buffered
+            long chunkPoolOffset;
+            int totalChunkSize;
+            {
+                DataInputStream stream = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+                chunkPoolOffset = readHeader(stream).size() + Integer.BYTES;
+                totalChunkSize = Integer.reverseBytes(stream.readInt());
             }
+
+            // seek past the chunk pool
+            long pathsOffset = chunkPoolOffset + Integer.toUnsignedLong(totalChunkSize);
+            if (channel.size() < pathsOffset) {
+                throw new EOFException();
+            }
+            channel.position(pathsOffset);
+
+            readPaths(new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel))), matcher, consumer);
         }
+    }
 
-        return entries;
+    /**
+     * Reads the header structures preceding the chunk pool's total size.
+     *
+     * @param stream a decompressed Packages.bin {@link DataInputStream}, positioned at the start
+     * @return the read {@link Header}
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    Header readHeader(@NonNull DataInputStream stream) throws IOException {
+        // 16 byte/128 bit hash
+        byte[] hash = new byte[Header.HASH_SIZE];
+        stream.readFully(hash);
+        // magic header (0x14 or 20)
+        skipNBytes(stream, 1);
+
+        // read file format version
+        int version = stream.readInt();
+
+        // skip unknown bytes
+        int unknownHeaderLength = version <= 29 ? 8 : 7;
+        skipNBytes(stream, unknownHeaderLength);
+
+        // determine length of an unknown flag
+        int unknownLength;
+        if (29 <= version) {
+            unknownLength = 1;
+        } else {
+            unknownLength = 4;
+        }
+
+        long read = Header.HASH_SIZE + 1 + Integer.BYTES + unknownHeaderLength + Integer.BYTES;
+
+        // read various header structures
+        int structureCount = Integer.reverseBytes(stream.readInt());
+        for (int i = 0; i < structureCount; i++) {
+            // string length
+            int stringLength = Integer.reverseBytes(stream.readInt());
+            // string is also terminated by NUL
+            skipNBytes(stream, stringLength);
+
+            // unknown integer
+            skipNBytes(stream, unknownLength);
+
+            read += Integer.BYTES + stringLength + unknownLength;
+        }
+        return new Header(hash, version, read);
+    }
+
+    /**
+     * Reads the path records following the chunk pool, passing each matching absolute package path to a consumer.
+     *
+     * @param stream   a decompressed Packages.bin {@link DataInputStream}, positioned at the chunk count
+     * @param matcher  a matcher of raw absolute package paths
+     * @param consumer a consumer of each matching absolute package path
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    @SuppressWarnings("DuplicatedCode")
+    private void readPaths(DataInputStream stream, PathMatcher matcher, Consumer<String> consumer) throws IOException {
+        int expectedChunks = Integer.reverseBytes(stream.readInt());
+
+        // raw absolute path buffer; resized on demand, if necessary
+        byte[] buffer = new byte[512];
+        // shared package directory paths
+        PathDictionary directories = new PathDictionary();
+
+        for (int i = 0; i < expectedChunks; i++) {
+            // read absolute package directory path
+            int pathLength = Integer.reverseBytes(stream.readInt());
+            if (buffer.length < pathLength) buffer = new byte[pathLength];
+            stream.readFully(buffer, 0, pathLength);
+
+            // read package name, directly following the directory path
+            int nameLength = Integer.reverseBytes(stream.readInt());
+            if (buffer.length < pathLength + nameLength) buffer = Arrays.copyOf(buffer, pathLength + nameLength);
+            stream.readFully(buffer, pathLength, nameLength);
+
+            // unknown bytes
+            skipNBytes(stream, 5);
+            // "base package"
+            skipNBytes(stream, Integer.reverseBytes(stream.readInt()));
+            // unknown bytes
+            skipNBytes(stream, 4);
+
+            // only decode matching paths
+            String path = matchPath(matcher, directories, buffer, pathLength, nameLength);
+            if (path != null) {
+                consumer.accept(path);
+            }
+        }
     }
 
     /**
@@ -186,28 +863,18 @@ public class PackageParser {
      *                      when this method was invoked.
      * @throws IOException  if the stream cannot be positioned properly or
      *                      if an I/O error occurs.
-     * @implNote Subclasses are encouraged to provide a more efficient implementation
-     * of this method.
-     * @implSpec If {@code n} is zero or negative, then no bytes are skipped.
-     * If {@code n} is positive, the default implementation of this method
-     * invokes {@link InputStream#skip(long) skip()} with parameter {@code n}.  If the
-     * return value of {@code skip(n)} is non-negative and less than {@code n},
-     * then {@link InputStream#read()} is invoked repeatedly until the stream is {@code n}
-     * bytes beyond its position when this method was invoked or end of stream
-     * is reached.  If the return value of {@code skip(n)} is negative or
-     * greater than {@code n}, then an {@code IOException} is thrown.  Any
-     * exception thrown by {@code skip()} or {@code read()} will be propagated.
+     * @implNote {@link InputStream#skip(long)} is deliberately not used, as it fails on non-seekable sources (e.g.
+     * piped standard input); bytes are instead discarded with bulk {@link InputStream#read(byte[], int, int)}s.
      * @see java.io.InputStream#skip(long)
      */
     private static void skipNBytes(InputStream inputStream, long n) throws IOException {
         if (0 < n) { // skipped too few bytes
             // read until requested number skipped or EOS reached
-            while (0 < n && inputStream.read() != -1) {
-                n--;
-            }
-            // if not enough skipped, then EOFE
-            if (n != 0) {
-                throw new EOFException();
+            for (int read; 0 < n; n -= read) {
+                if ((read = inputStream.read(SKIP_BUFFER, 0, (int) Math.min(n, SKIP_BUFFER.length))) < 0) {
+                    // if not enough skipped, then EOFE
+                    throw new EOFException();
+                }
             }
         } else if (0 != n) { // skipped negative or too many bytes
             throw new IOException("Unable to skip exactly");
@@ -215,32 +882,281 @@ public class PackageParser {
     }
 
     /**
-     * Immutable package entry structure
+     * Recursively splits ranges of a chunk pool and locates the NUL terminators of each range.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    @RequiredArgsConstructor
+    private static class ScanTask extends RecursiveAction {
+        /**
+         * Chunk pool; absolute reads only
+         */
+        private final ByteBuffer pool;
+        /**
+         * Absolute offset of the chunk pool
+         */
+        private final int offset;
+        /**
+         * Absolute end offset of the chunk pool (exclusive)
+         */
+        private final int end;
+        /**
+         * Absolute offsets of the NUL terminators located in each range
+         */
+        private final int[][] terminators;
+        /**
+         * First range to scan (inclusive)
+         */
+        private final int from;
+        /**
+         * Last range to scan (exclusive)
+         */
+        private final int to;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int start = offset + from * SCAN_RANGE_SIZE;
+                int stop = Math.min(end, start + SCAN_RANGE_SIZE);
+
+                int count = 0;
+                int[] range = new int[256];
+                for (int position = start; position < stop; position++) {
+                    if (pool.get(position) == 0x00) {
+                        if (range.length <= count) {
+                            range = Arrays.copyOf(range, range.length * 2);
+                        }
+                        range[count++] = position;
+                    }
+                }
+                terminators[from] = Arrays.copyOf(range, count);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new ScanTask(pool, offset, end, terminators, from, middle),
+                        new ScanTask(pool, offset, end, terminators, middle, to)
+                );
+            }
+        }
+    }
+
+    /**
+     * Buffers published package entries, decodes the contents of each batch concurrently, and then forwards entries
+     * carrying their decoded contents in order.
+     */
+    private static class ParallelDecoder implements Consumer<PackageEntry> {
+        /**
+         * {@link ForkJoinPool} to decode on
+         */
+        private final ForkJoinPool forkJoinPool;
+        /**
+         * Downstream consumer
+         */
+        private final Consumer<PackageEntry> consumer;
+        /**
+         * Pending entries, in order of declaration
+         */
+        private final PackageEntry[] batch = new PackageEntry[DECODE_BATCH_SIZE];
+        /**
+         * Decoded contents of each pending entry
+         */
+        private final String[] contents = new String[DECODE_BATCH_SIZE];
+        /**
+         * Number of pending entries
+         */
+        private int size;
+
+        ParallelDecoder(ForkJoinPool forkJoinPool, Consumer<PackageEntry> consumer) {
+            this.forkJoinPool = forkJoinPool;
+            this.consumer = consumer;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void accept(PackageEntry entry) {
+            batch[size++] = entry;
+            if (size == batch.length) {
+                flush();
+            }
+        }
+
+        /**
+         * Decodes and forwards all pending entries.
+         */
+        void flush() {
+            forkJoinPool.invoke(new DecodeTask(batch, contents, 0, size));
+            for (int i = 0; i < size; i++) {
+                PackageEntry entry = batch[i].withDecodedContents(contents[i]);
+                batch[i] = null;
+                contents[i] = null;
+                consumer.accept(entry);
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * Recursively splits a batch of package entries and decodes the contents of each entry into a side array.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    @RequiredArgsConstructor
+    private static class DecodeTask extends RecursiveAction {
+        /**
+         * Entries to decode
+         */
+        private final PackageEntry[] entries;
+        /**
+         * Decoded contents of each entry of {@link #entries}
+         */
+        private final String[] contents;
+        /**
+         * First entry to decode (inclusive)
+         */
+        private final int from;
+        /**
+         * Last entry to decode (exclusive)
+         */
+        private final int to;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= DECODE_TASK_ENTRIES) {
+                for (int i = from; i < to; i++) {
+                    contents[i] = entries[i].contents();
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new DecodeTask(entries, contents, from, middle),
+                        new DecodeTask(entries, contents, middle, to)
+                );
+            }
+        }
+    }
+
+    /**
+     * Immutable Packages.bin header
+     */
+    @Value
+    static class Header {
+        /**
+         * Size of the hash at the start of Packages.bin
+         */
+        static final int HASH_SIZE = 16;
+
+        /**
+         * 16 byte/128 bit hash
+         */
+        byte[] hash;
+        /**
+         * File format version
+         */
+        int version;
+        /**
+         * Size of the header structures, in bytes
+         */
+        long size;
+    }
+
+    /**
+     * Immutable package entry structure. Package contents are not decoded until accessed with {@link #contents()};
+     * entries only reference a byte range of a chunk pool shared by all entries of the same Packages.bin. Parent
+     * directory paths are shared by all entries of the same parse. Entries published by a parallel parse are instead
+     * constructed with their contents already decoded.
      */
     @Value
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+    @ToString(of = {"path", "name"})
     @SuppressWarnings("RedundantModifiersUtilityClassLombok") // compilation issue without static keyword
     public static class PackageEntry {
         /**
          * Package parent directory absolute path
          */
+        @EqualsAndHashCode.Include
         String path;
         /**
          * Package entry name
          */
+        @EqualsAndHashCode.Include
         String name;
         /**
-         * Package entry LUA table
+         * Package entry's full absolute path; built once when the entry is created, only for matching paths
+         */
+        String absolutePath;
+        /**
+         * Shared chunk pool containing the raw package entry LUA table; absolute reads only
+         */
+        @Getter(AccessLevel.NONE)
+        ByteBuffer pool;
+        /**
+         * Offset of the raw package entry LUA table in {@link #pool}
+         */
+        @Getter(AccessLevel.PACKAGE)
+        int contentsOffset;
+        /**
+         * Byte length of the raw package entry LUA table
+         */
+        int contentsLength;
+        /**
+         * Package entry LUA table decoded ahead of publication by a parallel parse; {@code null} if decoded on access
+         */
+        @Getter(AccessLevel.NONE)
+        String decodedContents;
+
+        /**
+         * Constructs a new package entry whose contents are decoded on access.
+         *
+         * @param path           package parent directory absolute path
+         * @param name           package entry name
+         * @param absolutePath   package entry's full absolute path
+         * @param pool           shared chunk pool
+         * @param contentsOffset offset of the raw package entry LUA table in {@code pool}
+         * @param contentsLength byte length of the raw package entry LUA table
          */
-        String contents;
+        PackageEntry(String path, String name, String absolutePath, ByteBuffer pool, int contentsOffset, int contentsLength) {
+            this(path, name, absolutePath, pool, contentsOffset, contentsLength, null);
+        }
+
+        /**
+         * Creates a copy of this entry carrying its already decoded contents.
+         *
+         * @param decodedContents decoded package entry LUA table
+         * @return a new {@link PackageEntry}
+         */
+        PackageEntry withDecodedContents(String decodedContents) {
+            return new PackageEntry(path, name, absolutePath, pool, contentsOffset, contentsLength, decodedContents);
+        }
+
+        /**
+         * Decodes the package entry LUA table; unless decoded ahead by a parallel parse, each invocation decodes the
+         * contents anew.
+         *
+         * @return package entry LUA table
+         */
+        public String contents() {
+            if (decodedContents != null) {
+                return decodedContents;
+            }
+            return StringDecoder.decode(pool, contentsOffset, contentsLength);
+        }
 
         /**
-         * Retrieves the package entry's full absolute path
+         * Views the raw package entry LUA table without decoding or copying it; entries are compared and hashed by
+         * their raw contents.
          *
-         * @return absolute package path
+         * @return a {@link ByteBuffer} of the raw package entry LUA table
          */
-        public String absolutePath() {
-            return path + name;
+        @EqualsAndHashCode.Include
+        private ByteBuffer rawContents() {
+            return (ByteBuffer) pool.duplicate().position(contentsOffset).limit(contentsOffset + contentsLength);
         }
     }
 }
@@ -0,0 +1,143 @@
+package me.concision.unnamed.unpacker.api;
+
+import lombok.NonNull;
+
+/**
+ * Interns package directory paths by their raw bytes during a single parse of "Packages.bin". Thousands of packages
+ * share the same parent directory; each distinct directory is decoded into a {@link String} once, and every subsequent
+ * occurrence is looked up without decoding or allocating.
+ * <p>
+ * Note: Instances are not thread-safe.
+ *
+ * @author Concision
+ */
+final class PathDictionary {
+    /**
+     * Initial capacity of the open-addressing table; must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Raw directory path bytes; {@code null} slots are empty
+     */
+    private byte[][] keys = new byte[INITIAL_CAPACITY][];
+    /**
+     * Hashes of {@link #keys}
+     */
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    /**
+     * Decoded directory paths of {@link #keys}
+     */
+    private String[] values = new String[INITIAL_CAPACITY];
+    /**
+     * Number of interned directory paths
+     */
+    private int size;
+
+    /**
+     * Returns the interned directory path of a raw byte range, decoding it only if it has not been seen before.
+     *
+     * @param bytes  a buffer containing the raw directory path
+     * @param offset offset of the directory path in {@code bytes}
+     * @param length byte length of the directory path
+     * @return the interned directory path
+     */
+    String intern(@NonNull byte[] bytes, int offset, int length) {
+        int hash = hash(bytes, offset, length);
+
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        for (byte[] key; (key = keys[slot]) != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && equals(key, bytes, offset, length)) {
+                return values[slot];
+            }
+        }
+
+        // decode new directory path
+        String value = StringDecoder.decode(bytes, offset, length);
+        byte[] key = new byte[length];
+        System.arraycopy(bytes, offset, key, 0, length);
+        keys[slot] = key;
+        hashes[slot] = hash;
+        values[slot] = value;
+
+        // maintain a load factor of at most 0.5
+        if (keys.length <= ++size * 2) {
+            resize();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of distinct interned directory paths.
+     *
+     * @return interned directory path count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the capacity of the table, reinserting all interned directory paths.
+     */
+    private void resize() {
+        byte[][] oldKeys = keys;
+        int[] oldHashes = hashes;
+        String[] oldValues = values;
+
+        keys = new byte[oldKeys.length * 2][];
+        hashes = new int[oldKeys.length * 2];
+        values = new String[oldKeys.length * 2];
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Hashes a byte range.
+     *
+     * @param bytes  a buffer
+     * @param offset offset of the range
+     * @param length byte length of the range
+     * @return a well-mixed hash
+     */
+    private static int hash(byte[] bytes, int offset, int length) {
+        int hash = 1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        // spread higher bits into the lower bits used for slot selection
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Compares a key to a byte range.
+     *
+     * @param key    an interned key
+     * @param bytes  a buffer
+     * @param offset offset of the range
+     * @param length byte length of the range
+     * @return {@code true} if the key and range are equal
+     */
+    private static boolean equals(byte[] key, byte[] bytes, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+package me.concision.unnamed.unpacker.api;
+
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Matches absolute package paths directly on their raw UTF-8 bytes in "Packages.bin", before any {@link String} is
+ * created. {@link PackageParser} only decodes the paths of packages that match; when few packages are wanted, no
+ * strings are created for the rest.
+ * <p>
+ * A {@link PathMatcher} is also a {@link Predicate} of decoded paths; both must agree for any path.
+ *
+ * @author Concision
+ */
+public interface PathMatcher extends Predicate<String> {
+    /**
+     * Matches a raw absolute package path (e.g. {@code "/Path/To/Package"}).
+     *
+     * @param path   a buffer containing the UTF-8 encoded absolute path
+     * @param offset offset of the path in {@code path}
+     * @param length byte length of the path
+     * @return {@code true} if the path matches
+     */
+    boolean matches(@NonNull byte[] path, int offset, int length);
+
+    /**
+     * Indicates whether this matcher tests decoded paths rather than raw bytes. Such matchers are tested with
+     * {@link #test(String)} against the absolute path built for each package, instead of decoding each raw path just to
+     * test it.
+     *
+     * @return {@code true} if this matcher should be tested against decoded paths
+     */
+    default boolean decodesPaths() {
+        return false;
+    }
+
+    /**
+     * Matches a decoded absolute package path; encodes the path and invokes {@link #matches(byte[], int, int)} unless
+     * overridden.
+     *
+     * @param path an absolute package path
+     * @return {@code true} if the path matches
+     */
+    @Override
+    default boolean test(@NonNull String path) {
+        byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+        return matches(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Determines whether a raw path is entirely ASCII; each byte of an ASCII path is exactly one character, allowing
+     * it to be matched without decoding.
+     *
+     * @param path   a buffer containing the UTF-8 encoded absolute path
+     * @param offset offset of the path in {@code path}
+     * @param length byte length of the path
+     * @return {@code true} if no byte has its high bit set
+     */
+    static boolean isAscii(@NonNull byte[] path, int offset, int length) {
+        return StringDecoder.isAscii(path, offset, length);
+    }
+
+    /**
+     * Returns a {@link PathMatcher} that matches every path.
+     *
+     * @return a matcher of every path
+     */
+    static PathMatcher any() {
+        return new PathMatcher() {
+            @Override
+            public boolean matches(@NonNull byte[] path, int offset, int length) {
+                return true;
+            }
+
+            @Override
+            public boolean test(@NonNull String path) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a {@link PathMatcher} that matches a path if any of the specified matchers match it. The combined matcher
+     * tests decoded paths if any of the specified matchers does.
+     *
+     * @param matchers {@link PathMatcher}s to combine
+     * @return a combined matcher
+     */
+    static PathMatcher anyOf(@NonNull Collection<? extends PathMatcher> matchers) {
+        List<PathMatcher> copy = new ArrayList<>(matchers);
+        boolean decodesPaths = copy.stream().anyMatch(PathMatcher::decodesPaths);
+        return new PathMatcher() {
+            @Override
+            public boolean decodesPaths() {
+                return decodesPaths;
+            }
+
+            @Override
+            public boolean matches(@NonNull byte[] path, int offset, int length) {
+                for (PathMatcher matcher : copy) {
+                    if (matcher.matches(path, offset, length)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public boolean test(@NonNull String path) {
+                for (PathMatcher matcher : copy) {
+                    if (matcher.test(path)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link Predicate} of decoded paths; every raw path is decoded before being tested (see
+     * {@link #decodesPaths()}).
+     *
+     * @param predicate a {@link Predicate} of absolute package paths
+     * @return an adapted matcher
+     */
+    static PathMatcher of(@NonNull Predicate<String> predicate) {
+        if (predicate instanceof PathMatcher) {
+            return (PathMatcher) predicate;
+        }
+        return new PredicateMatcher(predicate);
+    }
+}
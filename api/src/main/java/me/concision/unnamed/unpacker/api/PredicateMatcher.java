@@ -0,0 +1,38 @@
+package me.concision.unnamed.unpacker.api;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Predicate;
+
+/**
+ * Adapts a {@link Predicate} of decoded absolute package paths to a {@link PathMatcher} (see
+ * {@link PathMatcher#of(Predicate)}). Adapted predicates {@link #decodesPaths() decode paths}; rather than decoding each
+ * raw path only to test it, {@link PackageParser} builds the path once with its shared directory paths and tests the
+ * same {@link String} it then publishes.
+ *
+ * @author Concision
+ */
+@RequiredArgsConstructor
+final class PredicateMatcher implements PathMatcher {
+    /**
+     * Adapted {@link Predicate} of absolute package paths
+     */
+    @NonNull
+    private final Predicate<String> predicate;
+
+    @Override
+    public boolean decodesPaths() {
+        return true;
+    }
+
+    @Override
+    public boolean matches(@NonNull byte[] path, int offset, int length) {
+        return predicate.test(StringDecoder.decode(path, offset, length));
+    }
+
+    @Override
+    public boolean test(@NonNull String path) {
+        return predicate.test(path);
+    }
+}
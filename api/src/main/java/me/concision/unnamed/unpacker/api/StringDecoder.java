@@ -0,0 +1,64 @@
+package me.concision.unnamed.unpacker.api;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes UTF-8 strings of "Packages.bin" (package paths, names, and contents) with a single bulk decode per string.
+ * Most strings are entirely ASCII; these are detected with a byte scan and decoded as ISO-8859-1, which maps each byte
+ * directly to a character without any multi-byte sequence handling.
+ *
+ * @author Concision
+ */
+@UtilityClass
+class StringDecoder {
+    /**
+     * Decodes a UTF-8 string from a byte range.
+     *
+     * @param bytes  a buffer containing the string
+     * @param offset offset of the string in {@code bytes}
+     * @param length byte length of the string
+     * @return decoded string
+     */
+    String decode(@NonNull byte[] bytes, int offset, int length) {
+        return new String(bytes, offset, length, isAscii(bytes, offset, length) ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a UTF-8 string from a byte range of a {@link ByteBuffer} at an absolute position; the buffer's position
+     * is not modified. Bytes are decoded in place if the buffer is backed by an array, and otherwise copied once.
+     *
+     * @param buffer a {@link ByteBuffer} containing the string
+     * @param offset absolute offset of the string in {@code buffer}
+     * @param length byte length of the string
+     * @return decoded string
+     */
+    String decode(@NonNull ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return decode(buffer.array(), buffer.arrayOffset() + offset, length);
+        }
+        byte[] bytes = new byte[length];
+        ((ByteBuffer) buffer.duplicate().position(offset)).get(bytes);
+        return decode(bytes, 0, length);
+    }
+
+    /**
+     * Determines whether a byte range is entirely ASCII.
+     *
+     * @param bytes  a buffer
+     * @param offset offset of the range
+     * @param length byte length of the range
+     * @return {@code true} if no byte has its high bit set
+     */
+    boolean isAscii(@NonNull byte[] bytes, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import lombok.AccessLevel;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import me.concision.unnamed.unpacker.api.PathMatcher;
 import me.concision.unnamed.unpacker.cli.output.OutputType;
 import me.concision.unnamed.unpacker.cli.source.SourceType;
 import net.sourceforge.argparse4j.inf.Namespace;
@@ -12,7 +13,6 @@ import net.sourceforge.argparse4j.inf.Namespace;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Predicate;
 
 /**
  * A runtime configuration enabling more concise code when referencing arguments.
@@ -34,6 +34,8 @@ public class CommandArguments {
     @NonNull
     public final SourceType sourceType;
     public final File sourcePath;
+    public final File skipUnchanged;
+    public final boolean verify;
 
     // output
     public final File outputPath;
@@ -48,7 +50,7 @@ public class CommandArguments {
     public final String indentationString;
 
     @NonNull
-    public final List<Predicate<String>> packages;
+    public final List<PathMatcher> packages;
 
     /**
      * Constructs a new runtime arguments object from an argparse4j namespace
@@ -64,6 +66,8 @@ public class CommandArguments {
                 // source
                 namespace.get(UnpackerCmd.DEST_SOURCE_TYPE),
                 namespace.get(UnpackerCmd.DEST_SOURCE_PATH),
+                namespace.get(UnpackerCmd.DEST_SOURCE_SKIP_UNCHANGED),
+                namespace.getBoolean(UnpackerCmd.DEST_SOURCE_VERIFY),
                 // output
                 namespace.get(UnpackerCmd.DEST_OUTPUT_PATH),
                 namespace.get(UnpackerCmd.DEST_OUTPUT_FORMAT),
@@ -50,6 +50,32 @@ public class Unpacker {
      * Obtains Packages.bin input stream from source and writes it to output destination
      */
     private void decache() {
+        // skip unchanged sources
+        if (args.skipUnchanged != null) {
+            log.info("Comparing Packages.bin source against previous version");
+            boolean changed;
+            try {
+                changed = args.sourceType.changed(this);
+            } catch (Throwable throwable) {
+                throw new RuntimeException("failed to compare Packages.bin source against previous version", throwable);
+            }
+
+            if (!changed) {
+                log.info("Packages.bin is unchanged; skipping unpacking. Goodbye.");
+                return;
+            }
+        }
+
+        // verify source integrity
+        if (args.verify) {
+            log.info("Verifying Packages.bin source integrity");
+            try {
+                args.sourceType.verify(this);
+            } catch (Throwable throwable) {
+                throw new RuntimeException("failed to verify Packages.bin source integrity", throwable);
+            }
+        }
+
         log.info("Generating Packages.bin source stream");
         // generate packages.bin input stream
         InputStream packagesStream;
@@ -1,5 +1,6 @@
 package me.concision.unnamed.unpacker.cli;
 
+import me.concision.unnamed.unpacker.api.PathMatcher;
 import me.concision.unnamed.unpacker.cli.logging.UnpackerLoggerFormatter;
 import me.concision.unnamed.unpacker.cli.output.OutputType;
 import me.concision.unnamed.unpacker.cli.output.OutputType.OutputMode;
@@ -15,11 +16,13 @@ import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import net.sourceforge.argparse4j.inf.Namespace;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Unpacker CLI entrypoint - processes and validates passed command-line arguments
@@ -47,6 +50,12 @@ public class UnpackerCmd {
     public static final String FLAG_SOURCE_PATH = "--source-path";
     public static final String DEST_SOURCE_PATH = "source_path";
 
+    public static final String FLAG_SOURCE_SKIP_UNCHANGED = "--skip-unchanged";
+    public static final String DEST_SOURCE_SKIP_UNCHANGED = "source_skip_unchanged";
+
+    public static final String FLAG_SOURCE_VERIFY = "--verify";
+    public static final String DEST_SOURCE_VERIFY = "source_verify";
+
     // output flags
     public static final String FLAG_OUTPUT_FORMAT = "--format";
     public static final String DEST_OUTPUT_FORMAT = "output_format";
@@ -138,6 +147,22 @@ public class UnpackerCmd {
                 .required(false)
                 .nargs("?")
                 .type(new FileArgumentType().verifyExists().verifyCanRead());
+        // skip unchanged
+        String comparableSources = sourceTypes(SourceType::comparable);
+        Argument sourceSkipUnchangedArgument = sourceGroup.addArgument(FLAG_SOURCE_SKIP_UNCHANGED)
+                .help("Specifies a previous version of the .toc file containing Packages.bin; if Packages.bin is unchanged\n" +
+                        "since the previous version, no output is written (requires " + comparableSources + ")")
+                .dest(DEST_SOURCE_SKIP_UNCHANGED)
+                .metavar("TOC")
+                .required(false)
+                .type(new FileArgumentType().verifyExists().verifyIsFile().verifyCanRead());
+        // verify cache integrity
+        String verifiableSources = sourceTypes(SourceType::verifiable);
+        Argument sourceVerifyArgument = sourceGroup.addArgument(FLAG_SOURCE_VERIFY)
+                .help("Decodes every entry of the .cache file containing Packages.bin before unpacking, and fails if any entry\n" +
+                        "is corrupt or undecodable (requires " + verifiableSources + ") (default: false)")
+                .dest(DEST_SOURCE_VERIFY)
+                .action(Arguments.storeTrue());
 
         // output flags
         ArgumentGroup outputGroup = parser.addArgumentGroup("output");
@@ -246,17 +271,17 @@ public class UnpackerCmd {
         try {
             // parse package paths
             List<String> packagePatterns = namespace.get(ARGUMENT_PACKAGES);
-            List<Predicate<String>> pathPredicates = new ArrayList<>(packagePatterns.size());
+            List<PathMatcher> pathMatchers = new ArrayList<>(packagePatterns.size());
             if (packagePatterns.isEmpty()) {
-                pathPredicates.add(path -> true);
+                pathMatchers.add(PathMatcher.any());
             } else {
                 PathMatchingType type = namespace.get(DEST_PATH_MATCHING_TYPE);
                 for (String packagePattern : packagePatterns) {
                     try {
-                        pathPredicates.add(type.asPredicate(packagePattern));
+                        pathMatchers.add(type.asPredicate(packagePattern));
                     } catch (Throwable throwable) {
                         throw new ArgumentParserException(
-                                "failed to convert package path pattern to predicate: " + packagePattern
+                                "failed to convert package path pattern to matcher: " + packagePattern
                                         + (throwable.getMessage() != null ? "; " + throwable.getMessage() : ""),
                                 throwable, parser, packagePatternsArgument
                         );
@@ -264,7 +289,7 @@ public class UnpackerCmd {
                 }
             }
             // update package path patterns
-            namespace.getAttrs().put(ARGUMENT_PACKAGES, pathPredicates);
+            namespace.getAttrs().put(ARGUMENT_PACKAGES, pathMatchers);
 
 
             // convert to runtime configuration
@@ -275,6 +300,16 @@ public class UnpackerCmd {
                 throw new ArgumentParserException("'" + FLAG_SOURCE_TYPE + " " + arguments.sourceType + "' requires a specified '" + FLAG_SOURCE_PATH + " PATH'", parser, sourceLocationArgument);
             }
 
+            // validate skipping unchanged sources is supported
+            if (arguments.skipUnchanged != null && !arguments.sourceType.comparable()) {
+                throw new ArgumentParserException("'" + FLAG_SOURCE_SKIP_UNCHANGED + "' is not compatible with '" + FLAG_SOURCE_TYPE + " " + arguments.sourceType + "'", parser, sourceSkipUnchangedArgument);
+            }
+
+            // validate verifying sources is supported
+            if (arguments.verify && !arguments.sourceType.verifiable()) {
+                throw new ArgumentParserException("'" + FLAG_SOURCE_VERIFY + "' is not compatible with '" + FLAG_SOURCE_TYPE + " " + arguments.sourceType + "'", parser, sourceVerifyArgument);
+            }
+
             // validate a output destination is specified
             if (arguments.outputFormat.mode() == OutputMode.MULTIPLE && arguments.outputPath == null) {
                 throw new ArgumentParserException("'" + FLAG_OUTPUT_FORMAT + " " + arguments.outputFormat + "' requires a specified '" + FLAG_OUTPUT_PATH + " DIRECTORY'", parser, outputLocationArgument);
@@ -348,4 +383,17 @@ public class UnpackerCmd {
             System.exit(-1);
         }
     }
+
+    /**
+     * Formats the source types supporting an optional source capability for argument help messages.
+     *
+     * @param capability a {@link SourceType} capability (e.g. {@link SourceType#comparable()})
+     * @return supported source types (e.g. "'--source DIRECTORY'")
+     */
+    private static String sourceTypes(Predicate<SourceType> capability) {
+        return Arrays.stream(SourceType.values())
+                .filter(capability)
+                .map(type -> "'" + FLAG_SOURCE_TYPE + " " + type + "'")
+                .collect(Collectors.joining(" or "));
+    }
 }
@@ -4,12 +4,13 @@ import lombok.NonNull;
 import lombok.extern.java.Log;
 import me.concision.unnamed.unpacker.api.PackageParser;
 import me.concision.unnamed.unpacker.api.PackageParser.PackageEntry;
+import me.concision.unnamed.unpacker.api.PathMatcher;
 import me.concision.unnamed.unpacker.cli.Unpacker;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Queue;
-import java.util.function.Predicate;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,39 +30,49 @@ public interface RecordFormatWriter extends OutputFormatWriter {
      */
     @Override
     default void write(@NonNull Unpacker unpacker, @NonNull InputStream packagesStream) {
-        // parse packages into record
-        Queue<PackageEntry> records;
+        // parse packages into records, publishing each matching record as it is read
         try {
-            records = PackageParser.parseStream(packagesStream);
+            PathMatcher matcher = this.matcher(unpacker);
+            Consumer<PackageEntry> consumer = record -> this.accept(unpacker, record);
+
+            // memory-map regular files instead of streaming
+            File packagesFile = unpacker.args().sourceType.file(unpacker);
+            if (packagesFile != null) {
+                PackageParser.parseFile(packagesFile, matcher, consumer);
+            } else {
+                PackageParser.parseStream(packagesStream, matcher, consumer);
+            }
         } catch (Throwable throwable) {
             throw new RuntimeException("failed to parse Packages.bin data stream", throwable);
         }
+    }
 
-        // publish records
-        while (!records.isEmpty()) {
-            // read package record
-            PackageEntry record = records.poll();
-
-            // check if matches any patterns
-            boolean matches = false;
-            for (Predicate<String> pathPredicate : unpacker.args().packages) {
-                if (pathPredicate.test(record.absolutePath())) {
-                    matches = true;
-                    break;
-                }
-            }
+    /**
+     * Combines all package patterns into a single {@link PathMatcher}, matching raw absolute package paths that should
+     * be published.
+     *
+     * @param unpacker associated {@link Unpacker} instance
+     * @return a {@link PathMatcher} of any package pattern
+     */
+    default PathMatcher matcher(@NonNull Unpacker unpacker) {
+        return PathMatcher.anyOf(unpacker.args().packages);
+    }
 
-            if (matches) {
-                // process record
-                log.info("Publishing package: " + record.absolutePath());
+    /**
+     * Publishes a parsed {@link PackageEntry} that matches any package patterns.
+     *
+     * @param unpacker associated {@link Unpacker} instance
+     * @param record   a matching {@link PackageEntry}
+     */
+    default void accept(@NonNull Unpacker unpacker, @NonNull PackageEntry record) {
+        // process record
+        log.info("Publishing package: " + record.absolutePath());
 
-                // attempt publish
-                try {
-                    this.publish(unpacker, record);
-                } catch (Throwable throwable) {
-                    log.log(Level.SEVERE, "Failed to publish record: " + record.absolutePath(), throwable);
-                }
-            }
+        // attempt publish
+        try {
+            this.publish(unpacker, record);
+        } catch (Throwable throwable) {
+            log.log(Level.SEVERE, "Failed to publish record: " + record.absolutePath(), throwable);
         }
     }
 
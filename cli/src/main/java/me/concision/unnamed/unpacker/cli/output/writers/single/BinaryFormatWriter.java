@@ -19,15 +19,13 @@ public class BinaryFormatWriter extends SingleFormatWriter {
      * {@inheritDoc}
      */
     @Override
-    public void write(Unpacker unpacker, InputStream packagesStream) throws IOException {
+    protected void writeContents(Unpacker unpacker, InputStream packagesStream) {
         log.info("Writing extracted Packages.bin");
-        this.open(unpacker);
-
         try {
             IOUtils.copy(packagesStream, outputStream);
-            outputStream.flush();
-        } finally {
-            this.close();
+        } catch (IOException exception) {
+            throw new RuntimeException("failed to copy Packages.bin data stream", exception);
         }
+        outputStream.flush();
     }
 }
@@ -1,20 +1,39 @@
 package me.concision.unnamed.unpacker.cli.output.writers.single;
 
-import me.concision.unnamed.unpacker.api.PackageParser.PackageEntry;
+import me.concision.unnamed.unpacker.api.PackageParser;
+import me.concision.unnamed.unpacker.api.PathMatcher;
 import me.concision.unnamed.unpacker.cli.Unpacker;
 import me.concision.unnamed.unpacker.cli.output.OutputType;
 
+import java.io.File;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
 /**
- * See {@link OutputType#PATHS}.
+ * See {@link OutputType#PATHS}. Only package paths are parsed; the chunk pool of package contents is skipped, or seeked
+ * past entirely if the source is a regular file.
  *
  * @author Concision
  */
-public class PathsFormatWriter extends SingleRecordFormatWriter {
+public class PathsFormatWriter extends SingleFormatWriter {
     /**
      * {@inheritDoc}
      */
     @Override
-    public void publish(Unpacker unpacker, PackageEntry record) {
-        outputStream.println(record.absolutePath());
+    protected void writeContents(Unpacker unpacker, InputStream packagesStream) {
+        // write matching package paths
+        try {
+            PathMatcher matcher = PathMatcher.anyOf(unpacker.args().packages);
+            Consumer<String> consumer = path -> outputStream.println(path);
+
+            File packagesFile = unpacker.args().sourceType.file(unpacker);
+            if (packagesFile != null) {
+                PackageParser.parsePaths(packagesFile, matcher, consumer);
+            } else {
+                PackageParser.parsePaths(packagesStream, matcher, consumer);
+            }
+        } catch (Throwable throwable) {
+            throw new RuntimeException("failed to parse Packages.bin data stream", throwable);
+        }
     }
 }
@@ -13,6 +13,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 
@@ -27,6 +28,32 @@ public abstract class SingleFormatWriter implements OutputFormatWriter, Closeabl
      */
     protected PrintStream outputStream;
 
+    /**
+     * Opens the output destination, writes the output with {@link #writeContents(Unpacker, InputStream)}, and closes
+     * the output destination.
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(@NonNull Unpacker unpacker, @NonNull InputStream packagesStream) {
+        // open output destination
+        this.open(unpacker);
+
+        // write output
+        try {
+            this.writeContents(unpacker, packagesStream);
+        } finally {
+            IOUtils.closeQuietly(this);
+        }
+    }
+
+    /**
+     * Writes Packages.bin {@link InputStream} to the opened {@link #outputStream}.
+     *
+     * @param unpacker       associated {@link Unpacker} instance
+     * @param packagesStream Packages.bin input stream
+     */
+    protected abstract void writeContents(@NonNull Unpacker unpacker, @NonNull InputStream packagesStream);
+
     /**
      * Opens an output stream to the unpacker destination. If no {@link CommandArguments#outputPath} is specified,
      * defaults to {@link System#out}.
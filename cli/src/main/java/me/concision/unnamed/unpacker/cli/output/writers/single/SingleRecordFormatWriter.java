@@ -2,7 +2,6 @@ package me.concision.unnamed.unpacker.cli.output.writers.single;
 
 import me.concision.unnamed.unpacker.cli.Unpacker;
 import me.concision.unnamed.unpacker.cli.output.RecordFormatWriter;
-import org.apache.commons.compress.utils.IOUtils;
 
 import java.io.InputStream;
 
@@ -17,15 +16,8 @@ public abstract class SingleRecordFormatWriter extends SingleFormatWriter implem
      * {@inheritDoc}
      */
     @Override
-    public void write(Unpacker unpacker, InputStream packagesStream) {
-        // open output destination
-        this.open(unpacker);
-
+    protected void writeContents(Unpacker unpacker, InputStream packagesStream) {
         // write packages
-        try {
-            RecordFormatWriter.super.write(unpacker, packagesStream);
-        } finally {
-            IOUtils.closeQuietly(this);
-        }
+        RecordFormatWriter.super.write(unpacker, packagesStream);
     }
 }
@@ -0,0 +1,66 @@
+package me.concision.unnamed.unpacker.cli.paths;
+
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable {@link CharSequence} view over a range of ASCII bytes, allowing a {@link java.util.regex.Matcher} to match
+ * raw package paths without creating a {@link String} for each path.
+ * <p>
+ * Note: Instances are not thread-safe.
+ *
+ * @author Concision
+ */
+final class AsciiCharSequence implements CharSequence {
+    /**
+     * Viewed bytes
+     */
+    private byte[] bytes = new byte[0];
+    /**
+     * Offset of the viewed range in {@link #bytes}
+     */
+    private int offset;
+    /**
+     * Byte length of the viewed range
+     */
+    private int length;
+
+    /**
+     * Views a new range of ASCII bytes.
+     *
+     * @param bytes  a buffer containing only ASCII bytes in the range
+     * @param offset offset of the range in {@code bytes}
+     * @param length byte length of the range
+     * @return this view
+     */
+    AsciiCharSequence view(@NonNull byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || length <= index) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+        }
+        return (char) bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return this.toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,85 @@
+package me.concision.unnamed.unpacker.cli.paths;
+
+import lombok.NonNull;
+import me.concision.unnamed.unpacker.api.PathMatcher;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Case-insensitively matches a raw path against an ASCII literal (see {@link PathMatchingType#LITERAL}). Paths are
+ * compared byte by byte with ASCII case folding; a path is only decoded if it is longer than the literal and contains
+ * non-ASCII characters, as only then may it case-insensitively equal the literal (e.g. U+212A KELVIN SIGN and
+ * {@code 'k'}).
+ *
+ * @author Concision
+ */
+final class LiteralPathMatcher implements PathMatcher {
+    /**
+     * Literal path
+     */
+    private final String literal;
+    /**
+     * ASCII case folded literal path bytes
+     */
+    private final byte[] folded;
+
+    /**
+     * Constructs a new matcher of an ASCII literal.
+     *
+     * @param literal an ASCII literal path
+     */
+    private LiteralPathMatcher(String literal) {
+        this.literal = literal;
+        this.folded = literal.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(folded[i]);
+        }
+    }
+
+    /**
+     * Creates a matcher of a literal path; non-ASCII literals are matched against decoded paths.
+     *
+     * @param literal a literal path
+     * @return a case-insensitive {@link PathMatcher} of the literal
+     */
+    static PathMatcher of(@NonNull String literal) {
+        byte[] bytes = literal.getBytes(StandardCharsets.UTF_8);
+        if (!PathMatcher.isAscii(bytes, 0, bytes.length)) {
+            return PathMatcher.of(literal::equalsIgnoreCase);
+        }
+        return new LiteralPathMatcher(literal);
+    }
+
+    @Override
+    public boolean matches(@NonNull byte[] path, int offset, int length) {
+        if (length == folded.length) {
+            // a non-ASCII byte never equals an ASCII byte
+            for (int i = 0; i < length; i++) {
+                if (fold(path[offset + i]) != folded[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // shorter paths have fewer characters; longer paths only have as many characters if they are not ASCII
+        if (length < folded.length || PathMatcher.isAscii(path, offset, length)) {
+            return false;
+        }
+        return this.test(new String(path, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean test(@NonNull String path) {
+        return literal.equalsIgnoreCase(path);
+    }
+
+    /**
+     * Folds an ASCII upper case letter to lower case.
+     *
+     * @param b a byte
+     * @return case folded byte
+     */
+    private static byte fold(byte b) {
+        return 'A' <= b && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+}
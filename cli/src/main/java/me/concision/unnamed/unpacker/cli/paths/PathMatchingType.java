@@ -1,15 +1,15 @@
 package me.concision.unnamed.unpacker.cli.paths;
 
 import lombok.NonNull;
+import me.concision.unnamed.unpacker.api.PathMatcher;
 
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 /**
- * Generates {@link Predicate<String>}s for path patterns
+ * Generates {@link PathMatcher}s for path patterns, matching raw package paths before they are decoded
  *
  * @author Concision
  */
@@ -19,8 +19,8 @@ public enum PathMatchingType {
      */
     LITERAL {
         @Override
-        public Predicate<String> asPredicate(@NonNull String pattern) {
-            return pattern::equalsIgnoreCase;
+        public PathMatcher asPredicate(@NonNull String pattern) {
+            return LiteralPathMatcher.of(pattern);
         }
     },
     /**
@@ -28,9 +28,8 @@ public enum PathMatchingType {
      */
     GLOB {
         @Override
-        public Predicate<String> asPredicate(@NonNull String pattern) {
-            Pattern compiledPattern = Pattern.compile(GlobCompiler.convertGlobToRegex(pattern));
-            return (path) -> compiledPattern.matcher(path).matches();
+        public PathMatcher asPredicate(@NonNull String pattern) {
+            return new PatternPathMatcher(Pattern.compile(GlobCompiler.convertGlobToRegex(pattern)));
         }
     },
     /**
@@ -38,14 +37,14 @@ public enum PathMatchingType {
      */
     REGEX {
         @Override
-        public Predicate<String> asPredicate(@NonNull String pattern) {
+        public PathMatcher asPredicate(@NonNull String pattern) {
             Pattern compiledPattern;
             try {
                 compiledPattern = Pattern.compile(pattern);
             } catch (PatternSyntaxException exception) {
                 throw new IllegalArgumentException("invalid regex pattern: " + pattern);
             }
-            return (path) -> compiledPattern.matcher(path).matches();
+            return new PatternPathMatcher(compiledPattern);
         }
     },
     /**
@@ -54,7 +53,7 @@ public enum PathMatchingType {
      */
     MIXED {
         @Override
-        public Predicate<String> asPredicate(@NonNull String pattern) {
+        public PathMatcher asPredicate(@NonNull String pattern) {
             int separatorPosition = pattern.indexOf(":");
             if (separatorPosition < 0)
                 throw new IllegalArgumentException("invalid pattern; must be in the format MATCHING_TYPE:pattern (e.g. 'literal:/xyz/'): " + pattern);
@@ -81,10 +80,11 @@ public enum PathMatchingType {
     }
 
     /**
-     * Generates a predicate from a string pattern for the current {@link PathMatchingType}
+     * Generates a predicate from a string pattern for the current {@link PathMatchingType}; the predicate is a
+     * {@link PathMatcher}, matching raw package paths before they are decoded
      *
      * @param pattern a matching type pattern
-     * @return a {@link Predicate} that matches package paths
+     * @return a {@link PathMatcher} that matches package paths
      */
-    public abstract Predicate<String> asPredicate(@NonNull String pattern);
+    public abstract PathMatcher asPredicate(@NonNull String pattern);
 }
@@ -0,0 +1,55 @@
+package me.concision.unnamed.unpacker.cli.paths;
+
+import lombok.NonNull;
+import me.concision.unnamed.unpacker.api.PathMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches a raw path against a {@link Pattern} (see {@link PathMatchingType#GLOB} and {@link PathMatchingType#REGEX}).
+ * ASCII paths are matched through a reused {@link AsciiCharSequence} view and {@link Matcher} without creating any
+ * {@link String}; only non-ASCII paths are decoded.
+ *
+ * @author Concision
+ */
+final class PatternPathMatcher implements PathMatcher {
+    /**
+     * Compiled pattern
+     */
+    private final Pattern pattern;
+    /**
+     * Per-thread reused {@link AsciiCharSequence} views
+     */
+    private final ThreadLocal<AsciiCharSequence> sequences = ThreadLocal.withInitial(AsciiCharSequence::new);
+    /**
+     * Per-thread reused {@link Matcher}s of {@link #pattern}, each bound to the thread's view in {@link #sequences}
+     */
+    private final ThreadLocal<Matcher> matchers;
+
+    /**
+     * Constructs a new matcher of a compiled pattern.
+     *
+     * @param pattern a compiled {@link Pattern}
+     */
+    PatternPathMatcher(@NonNull Pattern pattern) {
+        this.pattern = pattern;
+        this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(sequences.get()));
+    }
+
+    @Override
+    public boolean matches(@NonNull byte[] path, int offset, int length) {
+        if (!PathMatcher.isAscii(path, offset, length)) {
+            return this.test(new String(path, offset, length, StandardCharsets.UTF_8));
+        }
+        // rebind the view before resetting the matcher to the new view length
+        sequences.get().view(path, offset, length);
+        return matchers.get().reset().matches();
+    }
+
+    @Override
+    public boolean test(@NonNull String path) {
+        return pattern.matcher(path).matches();
+    }
+}
@@ -2,8 +2,10 @@ package me.concision.unnamed.unpacker.cli.source;
 
 import lombok.NonNull;
 import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
+import me.concision.unnamed.unpacker.cli.CommandArguments;
 import me.concision.unnamed.unpacker.cli.Unpacker;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -31,4 +33,56 @@ public interface SourceCollector {
      * @return a Packages.bin {@link InputStream}
      */
     InputStream acquire(@NonNull Unpacker unpacker) throws IOException;
+
+    /**
+     * Locates a regular file containing the decompressed Packages.bin, allowing random access instead of streaming
+     * {@link #acquire(Unpacker)}. Collectors that do not read Packages.bin from a local file report none.
+     *
+     * @param unpacker {@link Unpacker} instance
+     * @return a decompressed Packages.bin file, or {@code null} if unavailable
+     */
+    default File file(@NonNull Unpacker unpacker) {
+        return null;
+    }
+
+    /**
+     * Indicates whether {@link #changed(Unpacker)} compares the source against a previous version of the
+     * {@link #TOC_NAME} file.
+     *
+     * @return {@code true} if the source can be compared
+     */
+    default boolean comparable() {
+        return false;
+    }
+
+    /**
+     * Determines whether Packages.bin has changed since the previous version of the {@link #TOC_NAME} file specified by
+     * {@link CommandArguments#skipUnchanged}. Collectors that are not {@link #comparable()} conservatively report a
+     * change.
+     *
+     * @param unpacker {@link Unpacker} instance
+     * @return {@code true} if Packages.bin may have changed
+     */
+    default boolean changed(@NonNull Unpacker unpacker) throws IOException {
+        return true;
+    }
+
+    /**
+     * Indicates whether {@link #verify(Unpacker)} verifies the integrity of the source.
+     *
+     * @return {@code true} if the source can be verified
+     */
+    default boolean verifiable() {
+        return false;
+    }
+
+    /**
+     * Verifies the integrity of the source prior to acquiring Packages.bin. Collectors that are not
+     * {@link #verifiable()} perform no verification.
+     *
+     * @param unpacker {@link Unpacker} instance
+     * @throws IOException if the source is corrupt, or an underlying I/O exception occurs
+     */
+    default void verify(@NonNull Unpacker unpacker) throws IOException {
+    }
 }
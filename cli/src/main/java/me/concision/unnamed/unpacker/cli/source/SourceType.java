@@ -11,6 +11,7 @@ import me.concision.unnamed.unpacker.cli.source.collectors.InstallSourceCollecto
 import me.concision.unnamed.unpacker.cli.source.collectors.OriginSourceCollector;
 import me.concision.unnamed.unpacker.cli.source.collectors.UpdaterSourceCollector;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.function.Supplier;
@@ -66,4 +67,51 @@ public enum SourceType {
     public InputStream generate(@NonNull Unpacker unpacker) throws IOException {
         return collector.get().acquire(unpacker);
     }
+
+    /**
+     * Instantiates a new {@link SourceCollector} and executes {@link SourceCollector#file(Unpacker)}.
+     *
+     * @param unpacker {@link Unpacker} instance
+     * @return a decompressed Packages.bin file, or {@code null} if unavailable
+     */
+    public File file(@NonNull Unpacker unpacker) {
+        return collector.get().file(unpacker);
+    }
+
+    /**
+     * Instantiates a new {@link SourceCollector} and executes {@link SourceCollector#comparable()}.
+     *
+     * @return {@code true} if the source type can be compared against a previous version
+     */
+    public boolean comparable() {
+        return collector.get().comparable();
+    }
+
+    /**
+     * Instantiates a new {@link SourceCollector} and executes {@link SourceCollector#changed(Unpacker)}.
+     *
+     * @param unpacker {@link Unpacker} instance
+     * @return {@code true} if Packages.bin may have changed since {@link CommandArguments#skipUnchanged}
+     */
+    public boolean changed(@NonNull Unpacker unpacker) throws IOException {
+        return collector.get().changed(unpacker);
+    }
+
+    /**
+     * Instantiates a new {@link SourceCollector} and executes {@link SourceCollector#verifiable()}.
+     *
+     * @return {@code true} if the source type can be verified
+     */
+    public boolean verifiable() {
+        return collector.get().verifiable();
+    }
+
+    /**
+     * Instantiates a new {@link SourceCollector} and executes {@link SourceCollector#verify(Unpacker)}.
+     *
+     * @param unpacker {@link Unpacker} instance
+     */
+    public void verify(@NonNull Unpacker unpacker) throws IOException {
+        collector.get().verify(unpacker);
+    }
 }
@@ -8,6 +8,7 @@ import me.concision.unnamed.unpacker.cli.source.SourceCollector;
 import me.concision.unnamed.unpacker.cli.source.SourceType;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -36,4 +37,16 @@ public class BinarySourceCollector implements SourceCollector {
             return new BufferedInputStream(new FileInputStream(args.sourcePath.getAbsoluteFile()));
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public File file(@NonNull Unpacker unpacker) {
+        File sourcePath = unpacker.args().sourcePath;
+        if (sourcePath != null && sourcePath.isFile()) {
+            return sourcePath.getAbsoluteFile();
+        }
+        return null;
+    }
 }
@@ -3,6 +3,11 @@ package me.concision.unnamed.unpacker.cli.source.collectors;
 import lombok.NonNull;
 import lombok.extern.java.Log;
 import me.concision.unnamed.decacher.api.CacheDecompressionInputStream;
+import me.concision.unnamed.decacher.api.CacheVerifier;
+import me.concision.unnamed.decacher.api.CacheVerifier.Failure;
+import me.concision.unnamed.decacher.api.MappedCacheFile;
+import me.concision.unnamed.decacher.api.TocDiff;
+import me.concision.unnamed.decacher.api.TocDiff.Change;
 import me.concision.unnamed.decacher.api.TocStreamReader;
 import me.concision.unnamed.decacher.api.TocStreamReader.CacheEntry;
 import me.concision.unnamed.unpacker.cli.Unpacker;
@@ -16,6 +21,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,6 +41,72 @@ public class DirectorySourceCollector implements SourceCollector {
         return generate(unpacker.args().sourcePath);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean comparable() {
+        return true;
+    }
+
+    /**
+     * Compares the {@link #TOC_NAME} file against a previous version with {@link TocDiff}.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean changed(@NonNull Unpacker unpacker) throws IOException {
+        File directory = unpacker.args().sourcePath;
+        try (InputStream previous = new FileInputStream(unpacker.args().skipUnchanged.getAbsoluteFile());
+             InputStream current = new FileInputStream(new File(directory, TOC_NAME).getAbsoluteFile())) {
+            List<Change> changes = TocDiff.compare(previous, current);
+
+            Map<TocDiff.Type, Integer> counts = new EnumMap<>(TocDiff.Type.class);
+            boolean changed = false;
+            for (Change change : changes) {
+                counts.merge(change.type(), 1, Integer::sum);
+                if (change.path().equals("/Packages.bin")) {
+                    changed = true;
+                }
+            }
+            log.info("Toc changes: " + counts.getOrDefault(TocDiff.Type.ADDED, 0) + " added, " +
+                    counts.getOrDefault(TocDiff.Type.REMOVED, 0) + " removed, " +
+                    counts.getOrDefault(TocDiff.Type.MODIFIED, 0) + " modified"
+            );
+            return changed;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean verifiable() {
+        return true;
+    }
+
+    /**
+     * Decodes every entry of the {@link #CACHE_NAME} file with {@link CacheVerifier}.
+     * {@inheritDoc}
+     */
+    @Override
+    public void verify(@NonNull Unpacker unpacker) throws IOException {
+        File directory = unpacker.args().sourcePath;
+        List<Failure> failures = CacheVerifier.verify(
+                new File(directory, TOC_NAME).getAbsoluteFile(),
+                new File(directory, CACHE_NAME).getAbsoluteFile()
+        );
+        for (Failure failure : failures) {
+            log.severe("Corrupt cache entry " + failure.entry().filename() + " (" + failure.reason() + "): " + failure.message());
+        }
+        if (!failures.isEmpty()) {
+            Failure first = failures.get(0);
+            throw new IOException(failures.size() + " corrupt entries in " + CACHE_NAME +
+                    " (first: " + first.entry().filename() + ", " + first.reason() + ": " + first.message() + ")"
+            );
+        }
+        log.info("Verified " + CACHE_NAME);
+    }
+
     /**
      * Acquires a Packages.bin {@link InputStream} from a cache directory containing a {@link #TOC_NAME} file and
      * {@link #CACHE_NAME} file.
@@ -42,10 +116,16 @@ public class DirectorySourceCollector implements SourceCollector {
      * @throws IOException if an underlying I/O exception occurs
      */
     public InputStream generate(@NonNull File directory) throws IOException {
-        return generate(
-                new BufferedInputStream(new FileInputStream(new File(directory, TOC_NAME).getAbsoluteFile())),
-                new BufferedInputStream(new FileInputStream(new File(directory, CACHE_NAME).getAbsoluteFile()))
-        );
+        // read Packages.bin entry
+        CacheEntry cacheEntry;
+        try (InputStream tocStream = new BufferedInputStream(new FileInputStream(new File(directory, TOC_NAME).getAbsoluteFile()))) {
+            cacheEntry = findPackagesBin(tocStream);
+        }
+
+        // map the cache file; slices remain readable after the file is closed
+        try (MappedCacheFile cacheFile = new MappedCacheFile(new File(directory, CACHE_NAME).getAbsoluteFile())) {
+            return cacheFile.open(cacheEntry);
+        }
     }
 
     /**
@@ -58,6 +138,23 @@ public class DirectorySourceCollector implements SourceCollector {
      */
     public InputStream generate(@NonNull InputStream tocStream, @NonNull InputStream cacheStream) throws IOException {
         // read Packages.bin entry
+        CacheEntry cacheEntry = findPackagesBin(tocStream);
+
+        // skip offset in cache stream
+        IOUtils.skip(cacheStream, cacheEntry.offset());
+
+        // limit the input stream
+        return new CacheDecompressionInputStream(new BoundedInputStream(cacheStream, cacheEntry.compressedSize()));
+    }
+
+    /**
+     * Searches a {@link #TOC_NAME} file for the Packages.bin {@link CacheEntry}.
+     *
+     * @param tocStream {@link #TOC_NAME} {@link InputStream}
+     * @return Packages.bin {@link CacheEntry}
+     * @throws IOException if an underlying I/O exception occurs
+     */
+    private CacheEntry findPackagesBin(@NonNull InputStream tocStream) throws IOException {
         Optional<CacheEntry> entry = new TocStreamReader(tocStream).findEntry("/Packages.bin");
         // verify an entry is present
         if (!entry.isPresent()) {
@@ -66,11 +163,6 @@ public class DirectorySourceCollector implements SourceCollector {
         // read entry
         CacheEntry cacheEntry = entry.get();
         log.info("Toc entry: " + cacheEntry);
-
-        // skip offset in cache stream
-        IOUtils.skip(cacheStream, cacheEntry.offset());
-
-        // limit the input stream
-        return new CacheDecompressionInputStream(new BoundedInputStream(cacheStream, cacheEntry.compressedSize()));
+        return cacheEntry;
     }
 }